@@ -0,0 +1,41 @@
+package com.eduverse.algorithms;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Fixed-seed generation inputs at three sizes, built with
+ * {@link SyntheticCollegeGenerator}. Each benchmark schedules department 1,
+ * year 1 against whatever the rest of the generated college already booked.
+ */
+final class BenchmarkInstances {
+    static final String SMALL = "small";
+    static final String MEDIUM = "medium";
+    static final String COLLEGE = "college";
+
+    private final SyntheticCollege college;
+
+    private BenchmarkInstances(SyntheticCollege college) {
+        this.college = college;
+    }
+
+    static BenchmarkInstances of(String scale) {
+        switch (scale) {
+            case SMALL:
+                return new BenchmarkInstances(SyntheticCollegeGenerator.builder()
+                        .departments(1).years(2).teachersPerDepartment(12).classrooms(6).scheduledShare(0)
+                        .build().generate());
+            case MEDIUM:
+                return new BenchmarkInstances(SyntheticCollegeGenerator.builder()
+                        .departments(4).teachersPerDepartment(15).classrooms(30)
+                        .build().generate());
+            case COLLEGE:
+                return new BenchmarkInstances(SyntheticCollegeGenerator.builder().build().generate());
+            default:
+                throw new IllegalArgumentException("Unknown scale: " + scale);
+        }
+    }
+
+    GeneticAlgorithm geneticAlgorithm(GeneticAlgorithmConfig config, long seed) {
+        return college.geneticAlgorithm(1, 1, config, seed, ForkJoinPool.commonPool());
+    }
+}
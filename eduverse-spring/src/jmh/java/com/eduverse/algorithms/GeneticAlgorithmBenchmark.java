@@ -0,0 +1,76 @@
+package com.eduverse.algorithms;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-population work: a full seeded run, building a population and
+ * scoring one. The population benchmarks use the same fork-join fan-out as
+ * {@link GeneticAlgorithm#run()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneticAlgorithmBenchmark {
+
+    @Param({ BenchmarkInstances.SMALL, BenchmarkInstances.MEDIUM, BenchmarkInstances.COLLEGE })
+    public String scale;
+
+    @Param({ "false", "true" })
+    public boolean decomposed;
+
+    private BenchmarkInstances instance;
+    private GeneticAlgorithmConfig config;
+    private GeneticAlgorithm ga;
+    private List<TimetableChromosome> population;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        instance = BenchmarkInstances.of(scale);
+        config = GeneticAlgorithmConfig.builder().decomposed(decomposed).build();
+        ga = instance.geneticAlgorithm(config, 42);
+        population = ga.initializePopulation(new SplittableRandom(42), config.getPopulationSize(), true);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetScores() {
+        for (TimetableChromosome chromo : population) {
+            chromo.setEvaluated(false);
+        }
+    }
+
+    @Benchmark
+    public TimetableChromosome run() {
+        // A fresh seed each call so the early exit doesn't always fire at the same generation
+        return instance.geneticAlgorithm(config, seed++).run();
+    }
+
+    @Benchmark
+    public List<TimetableChromosome> initializePopulation() {
+        return ga.initializePopulation(new SplittableRandom(seed++), config.getPopulationSize(), true);
+    }
+
+    @Benchmark
+    public List<TimetableChromosome> evaluatePopulation() {
+        ga.evaluatePopulation(population, true);
+        return population;
+    }
+}
@@ -0,0 +1,90 @@
+package com.eduverse.algorithms;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-chromosome operators on one thread: random and DSATUR construction,
+ * a full evaluation, crossover and mutation with its incremental re-scoring.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneticOperatorsBenchmark {
+
+    @Param({ BenchmarkInstances.SMALL, BenchmarkInstances.MEDIUM, BenchmarkInstances.COLLEGE })
+    public String scale;
+
+    private GeneticOperators operators;
+    private ResourceMatcher matcher;
+    private FitnessEvaluator evaluator;
+    private SplittableRandom random;
+    private TimetableChromosome parent1;
+    private TimetableChromosome parent2;
+    private TimetableChromosome mutant;
+    private double mutationRate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GeneticAlgorithmConfig config = new GeneticAlgorithmConfig();
+        TimetableProblem problem = BenchmarkInstances.of(scale).geneticAlgorithm(config, 42).getProblem();
+        mutationRate = config.getMutationRate();
+        operators = new GeneticOperators(problem);
+        matcher = new ResourceMatcher(problem);
+        evaluator = new FitnessEvaluator(problem);
+        random = new SplittableRandom(42);
+        parent1 = operators.createRandom(random);
+        parent2 = operators.createRandom(random);
+        mutant = parent1.clone();
+    }
+
+    @Benchmark
+    public TimetableChromosome createRandom() {
+        return operators.createRandom(random);
+    }
+
+    @Benchmark
+    public TimetableChromosome createConstructive() {
+        return operators.createConstructive(random);
+    }
+
+    @Benchmark
+    public TimetableChromosome evaluate() {
+        evaluator.evaluate(parent1);
+        return parent1;
+    }
+
+    @Benchmark
+    public TimetableChromosome[] crossover() {
+        return operators.subjectBasedCrossover(parent1, parent2, random);
+    }
+
+    @Benchmark
+    public TimetableChromosome mutate() {
+        // Keeps mutating the same chromosome rather than paying for a clone per call
+        operators.mutate(mutant, mutationRate, random);
+        return mutant;
+    }
+
+    @Benchmark
+    public TimetableChromosome matchResources() {
+        matcher.assign(mutant);
+        return mutant;
+    }
+}
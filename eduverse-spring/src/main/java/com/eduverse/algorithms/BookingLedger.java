@@ -0,0 +1,65 @@
+package com.eduverse.algorithms;
+
+import com.eduverse.models.BookedSlot;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable slot bitmaps of the teachers and classrooms already booked by
+ * active timetables in the same shift. Built once per problem, so global
+ * conflict checks are a bitwise AND against the slot bit instead of a scan
+ * over every existing entry.
+ */
+public class BookingLedger {
+    private final int words;
+    private final long[] teacherBits;
+    private final long[] classroomBits;
+    private final int bookedEntries;
+
+    BookingLedger(
+            List<? extends BookedSlot> existingEntries,
+            Integer shiftId,
+            int periods,
+            Map<Integer, Integer> teacherIndex,
+            Map<Integer, Integer> classroomIndex) {
+        this.words = (TimetableProblem.DAYS.length * periods + 63) >>> 6;
+        this.teacherBits = new long[teacherIndex.size() * words];
+        this.classroomBits = new long[classroomIndex.size() * words];
+
+        Map<String, Integer> dayIndex = new HashMap<>();
+        for (int d = 0; d < TimetableProblem.DAYS.length; d++) {
+            dayIndex.put(TimetableProblem.DAYS[d], d);
+        }
+
+        int booked = 0;
+        for (BookedSlot entry : existingEntries) {
+            Integer day = dayIndex.get(entry.getDayOfWeek());
+            if (!shiftId.equals(entry.getTimeSlotId()) || day == null
+                    || entry.getPeriodNumber() < 1 || entry.getPeriodNumber() > periods)
+                continue;
+
+            int slot = day * periods + entry.getPeriodNumber() - 1;
+            Integer teacher = teacherIndex.get(entry.getTeacherId());
+            if (teacher != null)
+                teacherBits[teacher * words + (slot >>> 6)] |= 1L << slot;
+            Integer classroom = classroomIndex.get(entry.getClassroomId());
+            if (classroom != null)
+                classroomBits[classroom * words + (slot >>> 6)] |= 1L << slot;
+            booked++;
+        }
+        this.bookedEntries = booked;
+    }
+
+    public boolean isTeacherBooked(int teacher, int slot) {
+        return (teacherBits[teacher * words + (slot >>> 6)] & (1L << slot)) != 0;
+    }
+
+    public boolean isClassroomBooked(int classroom, int slot) {
+        return (classroomBits[classroom * words + (slot >>> 6)] & (1L << slot)) != 0;
+    }
+
+    public int getBookedEntries() {
+        return bookedEntries;
+    }
+}
@@ -0,0 +1,456 @@
+package com.eduverse.algorithms;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Branch and bound over conflict-free timetables, for cohorts small enough to
+ * search exhaustively. Slots are visited in week order and each is either
+ * left empty or given to a subject whose domain still holds it:
+ * <ul>
+ * <li>arc consistency on the teacher and room domains is precomputed by
+ * {@link TimetableProblem#getUsableSlots}, so a slot only stays in a
+ * subject's domain while its teacher and some classroom are free;</li>
+ * <li>forward checking removes a slot from every domain once it is taken,
+ * and the root checks by bipartite matching whether all classes fit at
+ * all;</li>
+ * <li>branches are cut when an optimistic score for their completion, from
+ * the committed repeats and gaps plus a joint bound on missing classes,
+ * further repeats and the day-count variance, cannot beat the incumbent.</li>
+ * </ul>
+ * The incumbent starts from a DSATUR construction repaired by annealing.
+ *
+ * Teachers are picked as the GA's operators do: the pinned teacher when free,
+ * else the least-loaded free department teacher that day. Workload penalties
+ * are left out of the bound, and a leaf whose penalty might have been avoided
+ * with other teachers voids the proof, so "proven optimal" holds over all
+ * conflict-free timetables.
+ *
+ * Problems with several cohorts are not searched; the incumbent is returned.
+ */
+public class ExactSolver implements TimetableSolver {
+    private static final double EPSILON = 1e-9;
+
+    private final TimetableProblem problem;
+    private final GeneticAlgorithmConfig config;
+    private final long seed;
+    private GenerationListener listener;
+    private BooleanSupplier cancellation = () -> false;
+
+    private final int slots;
+    private final int periods;
+    private final int days;
+    private final int subjectCount;
+    // Slots some subject could use, in total per day
+    private final boolean[] usableBySome;
+    private final int[] usablePerDay;
+
+    private FitnessEvaluator evaluator;
+    private BooleanSupplier stop;
+    private int[] remaining;
+    private int remainingTotal;
+    private int[] subjectDay;
+    private int[] teacherDay;
+    private int[] dayCount;
+    // Last filled period per day, 0 when the day is still empty
+    private int[] lastPeriod;
+    private int[] geneSubject;
+    private int[] geneTeacher;
+    private int[] geneClassroom;
+    private int[] geneSlot;
+    private int genes;
+    private int repeats;
+    private int gaps;
+    private int excess;
+
+    private TimetableChromosome best;
+    private double bestScore;
+    // Highest score a leaf could have reached with teachers chosen differently
+    private double teacherSlack;
+    private long nodes;
+    private boolean aborted;
+    private int placeable;
+    private boolean provenOptimal;
+    private String verdict;
+
+    public ExactSolver(TimetableProblem problem, GeneticAlgorithmConfig config, long seed) {
+        this.problem = problem;
+        this.config = config;
+        this.seed = seed;
+        this.slots = problem.getSlotCount();
+        this.periods = problem.getPeriods();
+        this.days = problem.getDayCount();
+        this.subjectCount = problem.getSubjectCount();
+
+        this.usableBySome = new boolean[slots];
+        this.usablePerDay = new int[days];
+        for (int slot = 0; slot < slots; slot++) {
+            for (int s = 0; s < subjectCount && !usableBySome[slot]; s++) {
+                usableBySome[slot] = test(problem.getUsableSlots(s), slot);
+            }
+            if (usableBySome[slot])
+                usablePerDay[slot / periods]++;
+        }
+    }
+
+    @Override
+    public TimetableProblem getProblem() {
+        return problem;
+    }
+
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Notified once, when the search ends.
+     */
+    @Override
+    public void setListener(GenerationListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void setCancellation(BooleanSupplier cancellation) {
+        this.cancellation = cancellation;
+    }
+
+    @Override
+    public boolean isProvenOptimal() {
+        return provenOptimal;
+    }
+
+    @Override
+    public String getVerdict() {
+        return verdict;
+    }
+
+    @Override
+    public TimetableChromosome run() {
+        long startNanos = System.nanoTime();
+        long budgetNanos = config.getTimeBudgetMs() * 1_000_000;
+        stop = () -> budgetNanos > 0 && System.nanoTime() - startNanos - budgetNanos >= 0
+                || cancellation.getAsBoolean();
+
+        GeneticOperators operators = new GeneticOperators(problem);
+        SplittableRandom random = new SplittableRandom(seed);
+        best = operators.createConstructive(random);
+        if (config.getLocalSearchIterations() > 0)
+            best = operators.anneal(best, config.getLocalSearchIterations(), stop, random);
+
+        if (problem.getCohortCount() > 1) {
+            verdict = "Exact search covers one cohort at a time; best timetable found is shown";
+            notifyListener(startNanos);
+            return best;
+        }
+
+        evaluator = new FitnessEvaluator(problem);
+        evaluator.load(best);
+        bestScore = evaluator.unclampedScore();
+        evaluator.unload(best);
+        teacherSlack = Double.NEGATIVE_INFINITY;
+
+        remaining = new int[subjectCount];
+        for (int s = 0; s < subjectCount; s++) {
+            remaining[s] = problem.getClassesPerWeek(s);
+            remainingTotal += remaining[s];
+        }
+        subjectDay = new int[subjectCount * days];
+        teacherDay = new int[problem.getTeacherCount() * days];
+        dayCount = new int[days];
+        lastPeriod = new int[days];
+        geneSubject = new int[remainingTotal];
+        geneTeacher = new int[remainingTotal];
+        geneClassroom = new int[remainingTotal];
+        geneSlot = new int[remainingTotal];
+        placeable = maxPlaceable();
+
+        search(0);
+
+        provenOptimal = !aborted && teacherSlack <= bestScore + EPSILON;
+        int total = problem.getTotalClasses();
+        String outcome = provenOptimal ? "no conflict-free timetable scores higher than the one shown"
+                : "search stopped after " + nodes + " nodes, best timetable found is shown";
+        if (placeable < total) {
+            verdict = "Proven infeasible: at most " + placeable + " of " + total + " classes fit without a clash; "
+                    + outcome;
+        } else {
+            verdict = (provenOptimal ? "Proven optimal: " : "Not proven: ") + outcome;
+        }
+
+        notifyListener(startNanos);
+        return best;
+    }
+
+    private void notifyListener(long startNanos) {
+        if (listener != null) {
+            listener.onGeneration(new GenerationProgress(1, best.getFitness(), best.getConflicts(), 0,
+                    (System.nanoTime() - startNanos) / 1_000_000));
+        }
+    }
+
+    private void search(int slot) {
+        if (aborted)
+            return;
+        if ((++nodes & 1023) == 0 && (nodes > config.getExactNodeLimit() || stop.getAsBoolean())) {
+            aborted = true;
+            return;
+        }
+        if (slot == slots || remainingTotal == 0) {
+            leaf();
+            return;
+        }
+        if (bound(slot) <= bestScore + EPSILON)
+            return;
+
+        int day = slot / periods;
+        // Subjects not yet taught today first, then those with the most classes left
+        int[] order = new int[subjectCount];
+        int candidates = 0;
+        for (int s = 0; s < subjectCount; s++) {
+            if (remaining[s] == 0 || !test(problem.getUsableSlots(s), slot))
+                continue;
+            int i = candidates++;
+            while (i > 0 && before(s, order[i - 1], day)) {
+                order[i] = order[i - 1];
+                i--;
+            }
+            order[i] = s;
+        }
+
+        for (int i = 0; i < candidates; i++) {
+            place(order[i], slot);
+            search(slot + 1);
+            unplace();
+        }
+        search(slot + 1);
+    }
+
+    private boolean before(int s1, int s2, int day) {
+        boolean fresh1 = subjectDay[s1 * days + day] == 0;
+        boolean fresh2 = subjectDay[s2 * days + day] == 0;
+        if (fresh1 != fresh2)
+            return fresh1;
+        return remaining[s1] > remaining[s2];
+    }
+
+    private void leaf() {
+        double score = evaluator.unclampedScore();
+        if (excess > 0)
+            teacherSlack = Math.max(teacherSlack, score + excess * 5);
+        if (score <= bestScore + EPSILON)
+            return;
+
+        TimetableChromosome chromo = new TimetableChromosome(genes);
+        for (int g = 0; g < genes; g++) {
+            chromo.addGene(geneSubject[g], geneTeacher[g], geneClassroom[g], geneSlot[g] / periods,
+                    geneSlot[g] % periods + 1);
+        }
+        evaluator.commit();
+        evaluator.store(chromo);
+        best = chromo;
+        bestScore = score;
+    }
+
+    private void place(int subject, int slot) {
+        int day = slot / periods;
+        int period = slot % periods + 1;
+        int teacher = selectTeacher(subject, slot, day);
+        int classroom = problem.getFreeClassroom(slot);
+
+        if (subjectDay[subject * days + day]++ > 0)
+            repeats++;
+        if (teacherDay[teacher * days + day]++ >= 4)
+            excess++;
+        gaps += period - lastPeriod[day] - 1;
+        dayCount[day]++;
+        remaining[subject]--;
+        remainingTotal--;
+        evaluator.add(subject, teacher, classroom, day, period);
+
+        geneSubject[genes] = subject;
+        geneTeacher[genes] = teacher;
+        geneClassroom[genes] = classroom;
+        geneSlot[genes] = slot;
+        genes++;
+        lastPeriod[day] = period;
+    }
+
+    private void unplace() {
+        genes--;
+        int subject = geneSubject[genes];
+        int teacher = geneTeacher[genes];
+        int slot = geneSlot[genes];
+        int day = slot / periods;
+        int period = slot % periods + 1;
+        evaluator.remove(subject, teacher, geneClassroom[genes], day, period);
+
+        int previous = genes > 0 && geneSlot[genes - 1] / periods == day ? geneSlot[genes - 1] % periods + 1 : 0;
+        lastPeriod[day] = previous;
+        gaps -= period - previous - 1;
+        if (--subjectDay[subject * days + day] > 0)
+            repeats--;
+        if (--teacherDay[teacher * days + day] >= 4)
+            excess--;
+        dayCount[day]--;
+        remaining[subject]++;
+        remainingTotal++;
+    }
+
+    private int selectTeacher(int subject, int slot, int day) {
+        BookingLedger ledger = problem.getLedger();
+        int pinned = problem.getPinnedTeacher(subject);
+        if (pinned >= 0 && !ledger.isTeacherBooked(pinned, slot))
+            return pinned;
+
+        int chosen = -1;
+        for (int teacher : problem.getDepartmentTeachers(subject)) {
+            if (!ledger.isTeacherBooked(teacher, slot)
+                    && (chosen < 0 || teacherDay[teacher * days + day] < teacherDay[chosen * days + day]))
+                chosen = teacher;
+        }
+        return chosen;
+    }
+
+    /**
+     * Highest unclamped score any completion of the current branch could
+     * reach. Committed repeats and gaps only grow as slots are filled. For
+     * the F classes still to be placed, missing classes cost 10 each, classes
+     * beyond the subjects' fresh days cost at least one repeat each, and the
+     * day counts cost at least their variance plus the gaps the unusable
+     * slots force; the bound takes the best F.
+     */
+    private double bound(int slot) {
+        int day = slot / periods;
+        int fitting = 0;
+        int fresh = 0;
+        for (int s = 0; s < subjectCount; s++) {
+            if (remaining[s] == 0)
+                continue;
+            long[] usable = problem.getUsableSlots(s);
+            int capacity = 0;
+            int freshDays = 0;
+            for (int d = day; d < days; d++) {
+                int inDay = 0;
+                for (int t = Math.max(slot, d * periods); t < (d + 1) * periods; t++) {
+                    if (test(usable, t))
+                        inDay++;
+                }
+                capacity += inDay;
+                if (inDay > 0 && (d > day || subjectDay[s * days + d] == 0))
+                    freshDays++;
+            }
+            int placeableClasses = Math.min(remaining[s], capacity);
+            fitting += placeableClasses;
+            fresh += Math.min(freshDays, placeableClasses);
+        }
+
+        // Cheapest day counts for each final total: x^2 part of the variance plus the gaps that
+        // the usable slots force, by DP over days. Finished days are fixed.
+        int period = slot % periods + 1;
+        double weight = 0.5 / days;
+        double[] cost = new double[slots + 1];
+        double[] next = new double[slots + 1];
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+        cost[0] = 0;
+        int reach = 0;
+        for (int d = 0; d < days; d++) {
+            Arrays.fill(next, Double.POSITIVE_INFINITY);
+            int base = d <= day ? dayCount[d] : 0;
+            int extra = 0;
+            if (d == day) {
+                extra = countUsable(d, period);
+            } else if (d > day) {
+                extra = usablePerDay[d];
+            }
+            for (int total = 0; total <= reach; total++) {
+                if (cost[total] == Double.POSITIVE_INFINITY)
+                    continue;
+                for (int j = 0; j <= extra; j++) {
+                    int x = base + j;
+                    double dayCost = weight * x * x + forcedGaps(d, d == day ? period : 1,
+                            d == day ? lastPeriod[d] : 0, j) * 25;
+                    next[total + x] = Math.min(next[total + x], cost[total] + dayCost);
+                }
+            }
+            reach += base + extra;
+            double[] swap = cost;
+            cost = next;
+            next = swap;
+        }
+
+        int maxFuture = Math.min(fitting, reach - genes);
+        double leastPenalty = Double.POSITIVE_INFINITY;
+        for (int future = 0; future <= maxFuture; future++) {
+            int total = genes + future;
+            double variance = cost[total] - weight * total * total / days;
+            double penalty = (remainingTotal - future) * 10 + Math.max(0, future - fresh) * 3 + variance;
+            leastPenalty = Math.min(leastPenalty, penalty);
+        }
+
+        return 100 - repeats * 3 - gaps * 25 - leastPenalty;
+    }
+
+    private int countUsable(int day, int fromPeriod) {
+        int count = 0;
+        for (int p = fromPeriod; p <= periods; p++) {
+            if (usableBySome[day * periods + p - 1])
+                count++;
+        }
+        return count;
+    }
+
+    /**
+     * Fewest new gaps from placing {@code count} more classes in the day, at
+     * or after {@code fromPeriod}, when {@code lastPeriod} is the last period
+     * already filled: the classes take the earliest usable periods.
+     */
+    private int forcedGaps(int day, int fromPeriod, int lastPeriod, int count) {
+        if (count == 0)
+            return 0;
+        int seen = 0;
+        for (int p = fromPeriod; p <= periods; p++) {
+            if (usableBySome[day * periods + p - 1] && ++seen == count)
+                return p - lastPeriod - count;
+        }
+        return 0;
+    }
+
+    /**
+     * Most classes that can be placed without a clash: a maximum matching of
+     * classes to usable slots, each slot taking one class.
+     */
+    private int maxPlaceable() {
+        int[] slotSubject = new int[slots];
+        Arrays.fill(slotSubject, -1);
+        int matched = 0;
+        for (int s = 0; s < subjectCount; s++) {
+            for (int k = 0; k < problem.getClassesPerWeek(s); k++) {
+                if (augment(s, slotSubject, new boolean[slots]))
+                    matched++;
+            }
+        }
+        return matched;
+    }
+
+    private boolean augment(int subject, int[] slotSubject, boolean[] visited) {
+        long[] usable = problem.getUsableSlots(subject);
+        for (int slot = 0; slot < slots; slot++) {
+            if (!test(usable, slot) || visited[slot])
+                continue;
+            visited[slot] = true;
+            int holder = slotSubject[slot];
+            if (holder < 0 || augment(holder, slotSubject, visited)) {
+                slotSubject[slot] = subject;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean test(long[] bits, int slot) {
+        return (bits[slot >>> 6] & (1L << slot)) != 0;
+    }
+}
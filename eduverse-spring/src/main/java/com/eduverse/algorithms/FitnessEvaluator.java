@@ -0,0 +1,213 @@
+package com.eduverse.algorithms;
+
+/**
+ * Scores chromosomes with reusable primitive counters instead of grouping
+ * maps, so an evaluation allocates nothing. Penalty totals are maintained as
+ * genes are added and removed; {@link #score()} only combines them.
+ *
+ * While a chromosome is loaded, moves can be applied gene by gene and
+ * {@link #commit()} reports the resulting fitness delta without a full pass.
+ *
+ * When several cohorts are scheduled together, penalties are summed over
+ * them and the score charges their mean, so it stays on the scale of a
+ * single cohort.
+ *
+ * Not thread-safe: each thread needs its own evaluator.
+ */
+public class FitnessEvaluator {
+    private final TimetableProblem problem;
+    private final BookingLedger ledger;
+    private final OccupancyIndex occupancy;
+    private final int dayCount;
+    private final int cohortCount;
+
+    private final int[] genesPerDay;
+    private final int[] subjectCount;
+    private final int[] subjectDayCount;
+    private final int[] teacherDayCount;
+
+    private int bookedConflicts;
+    private int repeatedSubjects;
+    private int excessLoad;
+    private double currentScore;
+
+    public FitnessEvaluator(TimetableProblem problem) {
+        this.problem = problem;
+        this.ledger = problem.getLedger();
+        this.occupancy = new OccupancyIndex(problem);
+        this.dayCount = problem.getDayCount();
+        this.cohortCount = problem.getCohortCount();
+
+        this.genesPerDay = new int[cohortCount * dayCount];
+        this.subjectCount = new int[problem.getSubjectCount()];
+        this.subjectDayCount = new int[problem.getSubjectCount() * dayCount];
+        this.teacherDayCount = new int[problem.getTeacherCount() * dayCount];
+    }
+
+    public void evaluate(TimetableChromosome chromo) {
+        load(chromo);
+        store(chromo);
+        unload(chromo);
+    }
+
+    public void load(TimetableChromosome chromo) {
+        for (int g = 0; g < chromo.size(); g++) {
+            addGene(chromo, g);
+        }
+        currentScore = score();
+    }
+
+    public void unload(TimetableChromosome chromo) {
+        for (int g = 0; g < chromo.size(); g++) {
+            removeGene(chromo, g);
+        }
+    }
+
+    /**
+     * Re-scores the loaded genes and returns the change since the last commit
+     * (or load).
+     */
+    public double commit() {
+        double previous = currentScore;
+        currentScore = score();
+        return currentScore - previous;
+    }
+
+    /**
+     * Writes the fitness and conflicts of the loaded genes to the chromosome.
+     */
+    public void store(TimetableChromosome chromo) {
+        chromo.setFitness(currentScore);
+        chromo.setConflicts(getConflicts());
+        chromo.setEvaluated(true);
+    }
+
+    public void addGene(TimetableChromosome chromo, int gene) {
+        add(chromo.getSubject(gene), chromo.getTeacher(gene), chromo.getClassroom(gene), chromo.getDay(gene),
+                chromo.getPeriod(gene));
+    }
+
+    public void removeGene(TimetableChromosome chromo, int gene) {
+        remove(chromo.getSubject(gene), chromo.getTeacher(gene), chromo.getClassroom(gene), chromo.getDay(gene),
+                chromo.getPeriod(gene));
+    }
+
+    public void add(int subject, int teacher, int classroom, int day, int period) {
+        int slot = problem.slotOf(day, period);
+        int cohort = problem.getCohort(subject);
+        occupancy.add(cohort, teacher, classroom, slot);
+
+        if (ledger.isTeacherBooked(teacher, slot))
+            bookedConflicts++;
+        if (ledger.isClassroomBooked(classroom, slot))
+            bookedConflicts++;
+
+        genesPerDay[cohort * dayCount + day]++;
+        subjectCount[subject]++;
+        if (subjectDayCount[subject * dayCount + day]++ > 0)
+            repeatedSubjects++;
+        if (++teacherDayCount[teacher * dayCount + day] > 4)
+            excessLoad++;
+    }
+
+    public void remove(int subject, int teacher, int classroom, int day, int period) {
+        int slot = problem.slotOf(day, period);
+        int cohort = problem.getCohort(subject);
+        occupancy.remove(cohort, teacher, classroom, slot);
+
+        if (ledger.isTeacherBooked(teacher, slot))
+            bookedConflicts--;
+        if (ledger.isClassroomBooked(classroom, slot))
+            bookedConflicts--;
+
+        genesPerDay[cohort * dayCount + day]--;
+        subjectCount[subject]--;
+        if (--subjectDayCount[subject * dayCount + day] > 0)
+            repeatedSubjects--;
+        if (teacherDayCount[teacher * dayCount + day]-- > 4)
+            excessLoad--;
+    }
+
+    public OccupancyIndex getOccupancy() {
+        return occupancy;
+    }
+
+    public int getConflicts() {
+        return occupancy.getClashes() + bookedConflicts;
+    }
+
+    /**
+     * Change in score if the gene were added to the loaded genes, measured
+     * before clamping at zero so it still ranks placements in a schedule that
+     * is far from complete. The loaded genes are left as they were.
+     */
+    public double probe(int subject, int teacher, int classroom, int day, int period) {
+        double before = unclampedScore();
+        add(subject, teacher, classroom, day, period);
+        double after = unclampedScore();
+        remove(subject, teacher, classroom, day, period);
+        return after - before;
+    }
+
+    public double score() {
+        return Math.max(0, unclampedScore());
+    }
+
+    /**
+     * The score without the floor at zero, so changes still register when
+     * the schedule is far from feasible.
+     */
+    public double unclampedScore() {
+        double fitness = 100.0;
+
+        fitness -= (double) getConflicts() * 15 / cohortCount;
+
+        // Multiple Subjects Per Day
+        fitness -= (double) repeatedSubjects * 3 / cohortCount;
+
+        // Teacher Workload
+        fitness -= (double) excessLoad * 5 / cohortCount;
+
+        // Daily Distribution Variance per cohort. Summed with the same compensation as
+        // DoubleStream.average() so the score matches the stream-based version bit for bit.
+        for (int cohort = 0; cohort < cohortCount; cohort++) {
+            int offset = cohort * dayCount;
+            int total = 0;
+            for (int day = 0; day < dayCount; day++) {
+                total += genesPerDay[offset + day];
+            }
+            double avg = (double) total / dayCount;
+            double sum = 0.0;
+            double compensation = 0.0;
+            for (int day = 0; day < dayCount; day++) {
+                double deviation = genesPerDay[offset + day] - avg;
+                double term = deviation * deviation - compensation;
+                double next = sum + term;
+                compensation = (next - sum) - term;
+                sum = next;
+            }
+            fitness -= (sum - compensation) / dayCount * 0.5 / cohortCount;
+        }
+
+        // Subject Completion
+        for (int subject = 0; subject < subjectCount.length; subject++) {
+            fitness -= (double) Math.abs(subjectCount[subject] - problem.getClassesPerWeek(subject)) * 10
+                    / cohortCount;
+        }
+
+        // Gaps in schedule: a day's gaps are its last occupied period minus
+        // the number of distinct occupied periods
+        int dailyGaps = 0;
+        for (int cohort = 0; cohort < cohortCount; cohort++) {
+            for (int day = 0; day < dayCount; day++) {
+                long mask = occupancy.dayMask(cohort, day);
+                if (mask != 0) {
+                    dailyGaps += (64 - Long.numberOfLeadingZeros(mask)) - Long.bitCount(mask);
+                }
+            }
+        }
+        fitness -= (double) dailyGaps * 25 / cohortCount;
+
+        return fitness;
+    }
+}
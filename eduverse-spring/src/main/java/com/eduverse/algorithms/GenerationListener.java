@@ -0,0 +1,11 @@
+package com.eduverse.algorithms;
+
+/**
+ * Receives the state of a running {@link TimetableSolver} after each
+ * generation. Called from the thread driving the run, so implementations
+ * should only record the progress and return.
+ */
+@FunctionalInterface
+public interface GenerationListener {
+    void onGeneration(GenerationProgress progress);
+}
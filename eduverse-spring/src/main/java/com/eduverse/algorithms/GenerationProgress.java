@@ -0,0 +1,14 @@
+package com.eduverse.algorithms;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class GenerationProgress {
+    private int generation;
+    private double bestFitness;
+    private int conflicts;
+    private double diversity;
+    private long elapsedMs;
+}
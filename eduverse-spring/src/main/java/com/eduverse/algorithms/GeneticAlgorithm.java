@@ -1,511 +1,499 @@
 package com.eduverse.algorithms;
 
+import com.eduverse.enums.MigrationTopology;
 import com.eduverse.models.Subject;
 import com.eduverse.models.User;
 import com.eduverse.models.Classroom;
 import com.eduverse.models.TimeSlot;
-import com.eduverse.models.TimetableEntry;
+import com.eduverse.models.BookedSlot;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
-
-public class GeneticAlgorithm {
-    private final List<Subject> subjects;
-    private final List<User> teachers;
-    private final List<Classroom> classrooms;
-    private final TimeSlot shift;
-    private final List<TimetableEntry> existingEntries;
-    private final Random random = new Random();
-
-    private static final int POPULATION_SIZE = 100;
-    private static final int MAX_GENERATIONS = 200;
-    private static final double MUTATION_RATE = 0.15;
-    private static final double CROSSOVER_RATE = 0.85;
-    private static final int ELITE_COUNT = 5;
-    private static final int TOURNAMENT_SIZE = 5;
-
-    private final String[] days = { "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday" };
-    private final List<Integer> availablePeriods;
+import java.util.stream.IntStream;
+
+/**
+ * Evolves timetables for the cohorts of a {@link TimetableProblem} sharing one
+ * shift: a single department and year, or every department of a year
+ * scheduled jointly, in which case one chromosome holds all their classes
+ * and its fitness is the mean over cohorts. Initialization, evaluation
+ * and breeding fan out over a fork-join pool; every chromosome (or offspring
+ * pair) gets its own {@link SplittableRandom} split from the master seed in a
+ * fixed order, so a given seed and input yield the same result at any
+ * parallelism, unless the run is cut short by its time budget or cancelled.
+ *
+ * A {@code seededShare} of every new population is built by DSATUR colouring
+ * so the search starts near-feasible; the rest is random for diversity.
+ *
+ * With {@code decomposed} set the GA only searches days and periods, and
+ * teachers and classrooms follow from a per-slot matching (see
+ * {@link ResourceMatcher}).
+ *
+ * With more than one island the population is split into sub-populations
+ * that evolve independently, one per pool task, and exchange their elites
+ * every {@code migrationInterval} generations.
+ *
+ * The fittest chromosomes can then be refined by simulated annealing (see
+ * {@code localSearchElites}); that stage is deterministic too as long as it
+ * finishes its iterations within its time slice.
+ */
+public class GeneticAlgorithm implements TimetableSolver {
+    private final TimetableProblem problem;
+    private final GeneticAlgorithmConfig config;
+    private final long seed;
+    private final ForkJoinPool pool;
+    private final Queue<GeneticOperators> idleOperators = new ConcurrentLinkedQueue<>();
+    private GenerationListener listener;
+    private BooleanSupplier cancellation = () -> false;
+    private long startNanos;
+    private long deadlineNanos;
 
     public GeneticAlgorithm(
             List<Subject> subjects,
             List<User> teachers,
             List<Classroom> classrooms,
             TimeSlot shift,
-            List<TimetableEntry> existingEntries) {
-        this.subjects = subjects;
-        this.teachers = teachers;
-        this.classrooms = classrooms;
-        this.shift = shift;
-        this.existingEntries = existingEntries;
-
-        this.availablePeriods = new ArrayList<>();
-        for (int i = 1; i <= shift.getTotalPeriods(); i++) {
-            availablePeriods.add(i);
-        }
+            List<? extends BookedSlot> existingEntries) {
+        this(subjects, teachers, classrooms, shift, existingEntries, new GeneticAlgorithmConfig(),
+                ThreadLocalRandom.current().nextLong(), ForkJoinPool.commonPool());
     }
 
-    public TimetableChromosome run() {
-        List<TimetableChromosome> population = initializePopulation();
+    public GeneticAlgorithm(
+            List<Subject> subjects,
+            List<User> teachers,
+            List<Classroom> classrooms,
+            TimeSlot shift,
+            List<? extends BookedSlot> existingEntries,
+            GeneticAlgorithmConfig config,
+            long seed,
+            ForkJoinPool pool) {
+        this(new TimetableProblem(subjects, teachers, classrooms, shift, existingEntries), config, seed, pool);
+    }
 
-        TimetableChromosome bestOverall = null;
-        int stagnantGenerations = 0;
+    public GeneticAlgorithm(TimetableProblem problem, GeneticAlgorithmConfig config, long seed, ForkJoinPool pool) {
+        this.problem = problem;
+        this.config = config;
+        this.seed = seed;
+        this.pool = pool;
+    }
 
-        for (int gen = 0; gen < MAX_GENERATIONS; gen++) {
-            evaluatePopulation(population);
+    @Override
+    public TimetableProblem getProblem() {
+        return problem;
+    }
 
-            TimetableChromosome currentBest = population.stream()
-                    .max(Comparator.comparingDouble(TimetableChromosome::getFitness))
-                    .orElse(population.get(0));
+    @Override
+    public long getSeed() {
+        return seed;
+    }
 
-            if (bestOverall == null || currentBest.getFitness() > bestOverall.getFitness()) {
-                bestOverall = currentBest.clone();
-                stagnantGenerations = 0;
-            } else {
-                stagnantGenerations++;
-            }
+    @Override
+    public void setListener(GenerationListener listener) {
+        this.listener = listener;
+    }
 
-            if (currentBest.getConflicts() == 0 && currentBest.getFitness() > 95) {
-                break;
-            }
+    /**
+     * Polled once per generation; when it returns true the run stops and
+     * returns the best chromosome found so far. The configured time budget is
+     * checked at the same points.
+     */
+    @Override
+    public void setCancellation(BooleanSupplier cancellation) {
+        this.cancellation = cancellation;
+    }
 
-            if (stagnantGenerations > 30) {
-                population = reinitializeWithElites(population);
-                stagnantGenerations = 0;
+    @Override
+    public TimetableChromosome run() {
+        startNanos = System.nanoTime();
+        deadlineNanos = startNanos + config.getTimeBudgetMs() * 1_000_000;
+        SplittableRandom master = new SplittableRandom(seed);
+        SplittableRandom localSearchRandom = master.split();
+        int islandCount = Math.max(1, config.getIslands());
+        int maxGenerations = config.getMaxGenerations();
+
+        if (islandCount == 1) {
+            Island island = new Island(master, config.getPopulationSize(), true);
+            for (int gen = 0; gen < maxGenerations && !island.isSolved() && !shouldStop(); gen++) {
+                island.evolve(1);
+                report(gen, gen + 1, island);
             }
+            return refine(localSearchRandom, island);
+        }
 
-            List<TimetableChromosome> nextGeneration = new ArrayList<>();
-
-            List<TimetableChromosome> elites = population.stream()
-                    .sorted((c1, c2) -> Double.compare(c2.getFitness(), c1.getFitness()))
-                    .limit(ELITE_COUNT)
-                    .map(TimetableChromosome::clone)
-                    .collect(Collectors.toList());
-            nextGeneration.addAll(elites);
-
-            while (nextGeneration.size() < POPULATION_SIZE) {
-                TimetableChromosome p1 = tournamentSelect(population);
-                TimetableChromosome p2 = tournamentSelect(population);
+        int islandSize = Math.max(Math.max(2, config.getEliteCount() * 2), config.getPopulationSize() / islandCount);
+        Island[] islands = new Island[islandCount];
+        for (int i = 0; i < islandCount; i++) {
+            islands[i] = new Island(master.split(), islandSize, false);
+        }
 
-                TimetableChromosome c1, c2;
-                if (random.nextDouble() < CROSSOVER_RATE) {
-                    List<TimetableChromosome> children = subjectBasedCrossover(p1, p2);
-                    c1 = children.get(0);
-                    c2 = children.get(1);
-                } else {
-                    c1 = p1.clone();
-                    c2 = p2.clone();
-                }
+        int interval = Math.max(1, config.getMigrationInterval());
+        for (int gen = 0; gen < maxGenerations; gen += interval) {
+            int epoch = Math.min(interval, maxGenerations - gen);
+            forEachParallel(islandCount, i -> islands[i].evolve(epoch), true);
+            report(gen, gen + epoch, islands);
 
-                mutate(c1);
-                if (nextGeneration.size() + 1 < POPULATION_SIZE) {
-                    mutate(c2);
-                    nextGeneration.add(c2);
-                }
-                nextGeneration.add(c1);
-            }
+            if (Arrays.stream(islands).anyMatch(Island::isSolved) || shouldStop())
+                break;
 
-            population = nextGeneration;
+            migrate(islands);
         }
 
-        evaluatePopulation(population);
-        return population.stream()
-                .max(Comparator.comparingDouble(TimetableChromosome::getFitness))
-                .orElse(bestOverall);
+        return refine(localSearchRandom, islands);
     }
 
-    private List<TimetableChromosome> initializePopulation() {
-        List<TimetableChromosome> pop = new ArrayList<>();
-
-        for (int i = 0; i < POPULATION_SIZE; i++) {
-            TimetableChromosome chromo = new TimetableChromosome();
+    /**
+     * Memetic stage: anneals the fittest {@code localSearchElites} distinct
+     * chromosomes in parallel within the local search time slice, cut short
+     * by the run's time budget. Returns the best chromosome evolved or
+     * refined, so it is never worse than evolution alone.
+     */
+    private TimetableChromosome refine(SplittableRandom master, Island... islands) {
+        TimetableChromosome best = null;
+        List<TimetableChromosome> elites = new ArrayList<>();
+        for (Island island : islands) {
+            TimetableChromosome candidate = island.finish();
+            if (best == null || candidate.getFitness() > best.getFitness())
+                best = candidate;
+            elites.add(candidate);
+            elites.addAll(island.fittest(config.getLocalSearchElites()));
+        }
 
-            for (Subject subject : subjects) {
-                int required = subject.getClassesPerWeek();
-                int attempts = 0;
-                int scheduled = 0;
+        // An island's best is usually among its fittest too, and migrants copy genes across islands
+        elites.sort((c1, c2) -> Double.compare(c2.getFitness(), c1.getFitness()));
+        List<TimetableChromosome> distinct = new ArrayList<>();
+        for (TimetableChromosome elite : elites) {
+            if (distinct.stream().noneMatch(elite::sameGenes))
+                distinct.add(elite);
+        }
 
-                while (scheduled < required && attempts < 100) {
-                    TimetableEntry entry = createRandomEntry(subject, chromo.getGenes());
-                    if (entry != null) {
-                        chromo.getGenes().add(entry);
-                        scheduled++;
-                    }
-                    attempts++;
-                }
+        int count = Math.min(config.getLocalSearchElites(), distinct.size());
+        if (count == 0 || config.getLocalSearchIterations() == 0 || shouldStop())
+            return best;
+
+        SplittableRandom[] streams = split(master, count);
+        TimetableChromosome[] refined = new TimetableChromosome[count];
+        long sliceNanos = config.getLocalSearchMs() * 1_000_000;
+        long sliceEnd = System.nanoTime() + sliceNanos;
+        boolean budgeted = config.getTimeBudgetMs() > 0;
+        // The slice never runs past the run's time budget
+        long deadline = budgeted && (sliceNanos == 0 || deadlineNanos - sliceEnd < 0) ? deadlineNanos : sliceEnd;
+        boolean timed = sliceNanos > 0 || budgeted;
+        BooleanSupplier stop = () -> timed && System.nanoTime() - deadline >= 0 || cancellation.getAsBoolean();
+
+        forEachParallel(count, i -> {
+            GeneticOperators operators = acquireOperators();
+            try {
+                refined[i] = operators.anneal(distinct.get(i), config.getLocalSearchIterations(), stop, streams[i]);
+            } finally {
+                idleOperators.offer(operators);
             }
+        }, true);
 
-            pop.add(chromo);
+        for (TimetableChromosome candidate : refined) {
+            if (candidate.getFitness() > best.getFitness())
+                best = candidate;
         }
+        return best;
+    }
 
-        return pop;
+    private boolean shouldStop() {
+        if (config.getTimeBudgetMs() > 0 && System.nanoTime() - deadlineNanos >= 0)
+            return true;
+        return cancellation.getAsBoolean();
     }
 
-    private TimetableEntry createRandomEntry(Subject subject, List<TimetableEntry> currentGenes) {
-        for (int attempt = 0; attempt < 50; attempt++) {
-            String day = days[random.nextInt(days.length)];
-            int period = availablePeriods.get(random.nextInt(availablePeriods.size()));
-
-            if (currentGenes.stream().anyMatch(g -> g.getDayOfWeek().equals(day) && g.getPeriodNumber() == period))
-                continue;
-
-            User teacher = selectTeacher(subject, currentGenes, day, period);
-            if (teacher == null)
-                continue;
-
-            Classroom classroom = selectClassroom(subject, currentGenes, day, period);
-            if (classroom == null)
-                continue;
-
-            return TimetableEntry.builder()
-                    .subjectId(subject.getId())
-                    .teacherId(teacher.getId())
-                    .classroomId(classroom.getId())
-                    .timeSlotId(shift.getId())
-                    .periodNumber(period)
-                    .dayOfWeek(day)
-                    .build();
+    /**
+     * Notifies the listener if a multiple of the progress interval was passed
+     * between the two generation counts. Without a listener this is a no-op.
+     */
+    private void report(int fromGeneration, int toGeneration, Island... islands) {
+        int interval = Math.max(1, config.getProgressInterval());
+        if (listener == null || toGeneration / interval == fromGeneration / interval)
+            return;
+
+        TimetableChromosome best = null;
+        for (Island island : islands) {
+            TimetableChromosome candidate = island.getBest();
+            if (candidate != null && (best == null || candidate.getFitness() > best.getFitness()))
+                best = candidate;
         }
+        if (best == null)
+            return;
 
-        return null;
+        long elapsedMs = (System.nanoTime() - startNanos) / 1_000_000;
+        listener.onGeneration(new GenerationProgress(toGeneration, best.getFitness(), best.getConflicts(),
+                diversity(best, islands), elapsedMs));
     }
 
-    private User selectTeacher(Subject subject, List<TimetableEntry> currentGenes, String day, int period) {
-        if (subject.getTeacherId() != null) {
-            User assignedTeacher = teachers.stream()
-                    .filter(u -> u.getId().equals(subject.getTeacherId()))
-                    .findFirst().orElse(null);
-            if (assignedTeacher != null) {
-                if (!isTeacherBusy(assignedTeacher.getId(), day, period, currentGenes)) {
-                    return assignedTeacher;
-                }
-            }
+    /**
+     * Mean Jaccard distance between each chromosome's (subject, slot)
+     * placements and those of the best chromosome: 0 when the population has
+     * converged on one timetable, approaching 1 when placements barely overlap.
+     */
+    private double diversity(TimetableChromosome best, Island[] islands) {
+        int slots = problem.getSlotCount();
+        long[] placed = new long[(problem.getSubjectCount() * slots + 63) >>> 6];
+        for (int g = 0; g < best.size(); g++) {
+            int bit = best.getSubject(g) * slots + problem.slotOf(best.getDay(g), best.getPeriod(g));
+            placed[bit >>> 6] |= 1L << bit;
         }
-
-        List<User> deptTeachers = teachers.stream()
-                .filter(t -> t.getDepartmentId() != null && t.getDepartmentId().equals(subject.getDepartmentId()))
-                .collect(Collectors.toList());
-
-        List<User> availableTeachers = deptTeachers.stream()
-                .filter(t -> !isTeacherBusy(t.getId(), day, period, currentGenes))
-                .collect(Collectors.toList());
-
-        if (!availableTeachers.isEmpty()) {
-            return availableTeachers.get(random.nextInt(availableTeachers.size()));
+        int distinct = 0;
+        for (long word : placed) {
+            distinct += Long.bitCount(word);
         }
 
-        return null;
+        double total = 0;
+        int count = 0;
+        for (Island island : islands) {
+            for (TimetableChromosome chromo : island.population) {
+                int shared = 0;
+                for (int g = 0; g < chromo.size(); g++) {
+                    int bit = chromo.getSubject(g) * slots + problem.slotOf(chromo.getDay(g), chromo.getPeriod(g));
+                    if ((placed[bit >>> 6] & (1L << bit)) != 0)
+                        shared++;
+                }
+                shared = Math.min(shared, distinct);
+                int union = chromo.size() + distinct - shared;
+                total += union == 0 ? 0 : 1 - (double) shared / union;
+                count++;
+            }
+        }
+        return count == 0 ? 0 : total / count;
     }
 
-    private Classroom selectClassroom(Subject subject, List<TimetableEntry> currentGenes, String day, int period) {
-        List<Classroom> availableClassrooms = classrooms.stream()
-                .filter(c -> !isClassroomBusy(c.getId(), day, period, currentGenes))
-                .collect(Collectors.toList());
-
-        if (!availableClassrooms.isEmpty()) {
-            return availableClassrooms.get(random.nextInt(availableClassrooms.size()));
+    /**
+     * Copies each island's best chromosomes over the worst of its neighbours.
+     * Emigrants are picked from every island before any island is changed.
+     */
+    private void migrate(Island[] islands) {
+        int migrants = Math.max(1, config.getMigrants());
+        List<List<TimetableChromosome>> emigrants = new ArrayList<>();
+        for (Island island : islands) {
+            emigrants.add(island.fittest(migrants));
         }
 
-        return null;
+        for (int i = 0; i < islands.length; i++) {
+            List<TimetableChromosome> arrivals = new ArrayList<>();
+            if (config.getTopology() == MigrationTopology.FULLY_CONNECTED) {
+                for (int j = 0; j < islands.length; j++) {
+                    if (j != i)
+                        arrivals.addAll(emigrants.get(j));
+                }
+            } else {
+                arrivals.addAll(emigrants.get((i + islands.length - 1) % islands.length));
+            }
+            islands[i].receive(arrivals);
+        }
     }
 
-    private boolean isTeacherBusy(Integer teacherId, String day, int period, List<TimetableEntry> currentGenes) {
-        if (currentGenes.stream().anyMatch(g -> g.getTeacherId().equals(teacherId) && g.getDayOfWeek().equals(day)
-                && g.getPeriodNumber() == period))
-            return true;
-
-        if (existingEntries.stream().anyMatch(e -> e.getTeacherId().equals(teacherId) && e.getDayOfWeek().equals(day)
-                && e.getPeriodNumber() == period && e.getTimeSlotId().equals(shift.getId())))
-            return true;
+    private final class Island {
+        private final SplittableRandom random;
+        private final boolean parallel;
+        private List<TimetableChromosome> population;
+        private TimetableChromosome bestOverall;
+        private int stagnantGenerations;
+        private boolean solved;
+
+        Island(SplittableRandom random, int size, boolean parallel) {
+            this.random = random;
+            this.parallel = parallel;
+            this.population = initializePopulation(random, size, parallel);
+        }
 
-        return false;
-    }
+        void evolve(int generations) {
+            for (int gen = 0; gen < generations && !solved && !shouldStop(); gen++) {
+                evaluatePopulation(population, parallel);
 
-    private boolean isClassroomBusy(Integer classroomId, String day, int period, List<TimetableEntry> currentGenes) {
-        if (currentGenes.stream().anyMatch(g -> g.getClassroomId().equals(classroomId) && g.getDayOfWeek().equals(day)
-                && g.getPeriodNumber() == period))
-            return true;
+                TimetableChromosome currentBest = population.stream()
+                        .max(Comparator.comparingDouble(TimetableChromosome::getFitness))
+                        .orElse(population.get(0));
 
-        if (existingEntries.stream()
-                .anyMatch(e -> e.getClassroomId().equals(classroomId) && e.getDayOfWeek().equals(day)
-                        && e.getPeriodNumber() == period && e.getTimeSlotId().equals(shift.getId())))
-            return true;
+                if (bestOverall == null || currentBest.getFitness() > bestOverall.getFitness()) {
+                    bestOverall = currentBest.clone();
+                    stagnantGenerations = 0;
+                } else {
+                    stagnantGenerations++;
+                }
 
-        return false;
-    }
+                if (currentBest.getConflicts() == 0 && currentBest.getFitness() > config.getTargetFitness()) {
+                    solved = true;
+                    break;
+                }
 
-    private void evaluatePopulation(List<TimetableChromosome> population) {
-        for (TimetableChromosome chromo : population) {
-            int conflicts = 0;
-            double fitness = 100.0;
-
-            // Duplicate Slots
-            long duplicateSlots = chromo.getGenes().stream()
-                    .collect(Collectors.groupingBy(g -> g.getDayOfWeek() + "-" + g.getPeriodNumber(),
-                            Collectors.counting()))
-                    .values().stream().filter(count -> count > 1)
-                    .mapToLong(count -> count - 1).sum();
-            conflicts += duplicateSlots;
-
-            // Teacher Conflicts
-            long teacherConflicts = chromo.getGenes().stream()
-                    .collect(Collectors.groupingBy(
-                            g -> g.getTeacherId() + "-" + g.getDayOfWeek() + "-" + g.getPeriodNumber(),
-                            Collectors.counting()))
-                    .values().stream().filter(count -> count > 1)
-                    .mapToLong(count -> count - 1).sum();
-            conflicts += teacherConflicts;
-
-            // Classroom Conflicts
-            long classroomConflicts = chromo.getGenes().stream()
-                    .collect(Collectors.groupingBy(
-                            g -> g.getClassroomId() + "-" + g.getDayOfWeek() + "-" + g.getPeriodNumber(),
-                            Collectors.counting()))
-                    .values().stream().filter(count -> count > 1)
-                    .mapToLong(count -> count - 1).sum();
-            conflicts += classroomConflicts;
-
-            // Global Teacher Conflicts
-            long globalTeacherConflicts = chromo.getGenes().stream()
-                    .filter(gene -> existingEntries.stream()
-                            .anyMatch(e -> e.getTeacherId().equals(gene.getTeacherId()) &&
-                                    e.getDayOfWeek().equals(gene.getDayOfWeek()) &&
-                                    e.getPeriodNumber() == gene.getPeriodNumber() &&
-                                    e.getTimeSlotId().equals(shift.getId())))
-                    .count();
-            conflicts += globalTeacherConflicts;
-
-            // Global Classroom Conflicts
-            long globalClassroomConflicts = chromo.getGenes().stream()
-                    .filter(gene -> existingEntries.stream()
-                            .anyMatch(e -> e.getClassroomId().equals(gene.getClassroomId()) &&
-                                    e.getDayOfWeek().equals(gene.getDayOfWeek()) &&
-                                    e.getPeriodNumber() == gene.getPeriodNumber() &&
-                                    e.getTimeSlotId().equals(shift.getId())))
-                    .count();
-            conflicts += globalClassroomConflicts;
-
-            chromo.setConflicts(conflicts);
-            fitness -= (conflicts * 15);
-
-            // Multiple Subjects Per Day
-            long multipleSubjectsPerDay = chromo.getGenes().stream()
-                    .collect(Collectors.groupingBy(g -> g.getDayOfWeek() + "-" + g.getSubjectId(),
-                            Collectors.counting()))
-                    .values().stream().filter(count -> count > 1)
-                    .mapToLong(count -> (count - 1) * 3).sum();
-            fitness -= multipleSubjectsPerDay;
-
-            // Teacher Workload
-            Map<Integer, Map<String, Long>> teacherDailyWorkload = chromo.getGenes().stream()
-                    .collect(Collectors.groupingBy(TimetableEntry::getTeacherId,
-                            Collectors.groupingBy(TimetableEntry::getDayOfWeek, Collectors.counting())));
-
-            for (Map<String, Long> dailyLoads : teacherDailyWorkload.values()) {
-                for (Long load : dailyLoads.values()) {
-                    if (load > 4)
-                        fitness -= (load - 4) * 5;
-                    if (load == 0)
-                        fitness += 2;
+                if (stagnantGenerations > 30) {
+                    population = reinitializeWithElites(population, random, parallel);
+                    stagnantGenerations = 0;
                 }
-            }
 
-            // Daily Distribution Variance
-            List<Long> dailyCounts = new ArrayList<>();
-            for (String day : days) {
-                long count = chromo.getGenes().stream().filter(g -> g.getDayOfWeek().equals(day)).count();
-                dailyCounts.add(count);
+                population = breed(population, random, parallel);
             }
+        }
 
-            if (!dailyCounts.isEmpty()) {
-                double avg = dailyCounts.stream().mapToDouble(Long::doubleValue).average().orElse(0.0);
-                double variance = dailyCounts.stream().mapToDouble(d -> Math.pow(d - avg, 2)).average().orElse(0.0);
-                fitness -= variance * 0.5;
-            }
+        boolean isSolved() {
+            return solved;
+        }
 
-            // Subject Completion
-            for (Subject s : subjects) {
-                long scheduled = chromo.getGenes().stream().filter(g -> g.getSubjectId().equals(s.getId())).count();
-                int required = s.getClassesPerWeek();
-                fitness -= Math.abs(scheduled - required) * 10;
-            }
+        TimetableChromosome getBest() {
+            return bestOverall;
+        }
 
-            // Gaps in schedule
-            int dailyGaps = 0;
-            for (String day : days) {
-                List<TimetableEntry> dayGenes = chromo.getGenes().stream()
-                        .filter(g -> g.getDayOfWeek().equals(day))
-                        .sorted(Comparator.comparingInt(TimetableEntry::getPeriodNumber))
-                        .collect(Collectors.toList());
-
-                if (!dayGenes.isEmpty()) {
-                    // Morning Gaps
-                    if (dayGenes.get(0).getPeriodNumber() > 1) {
-                        dailyGaps += (dayGenes.get(0).getPeriodNumber() - 1);
-                    }
-
-                    // Internal Gaps
-                    for (int i = 0; i < dayGenes.size() - 1; i++) {
-                        int gap = dayGenes.get(i + 1).getPeriodNumber() - dayGenes.get(i).getPeriodNumber() - 1;
-                        if (gap > 0) {
-                            dailyGaps += gap;
-                        }
-                    }
-                }
-            }
-            fitness -= dailyGaps * 25;
+        List<TimetableChromosome> fittest(int count) {
+            evaluatePopulation(population, parallel);
+            return population.stream()
+                    .sorted((c1, c2) -> Double.compare(c2.getFitness(), c1.getFitness()))
+                    .limit(count)
+                    .map(TimetableChromosome::clone)
+                    .collect(Collectors.toList());
+        }
 
-            chromo.setFitness(Math.max(0, fitness));
+        void receive(List<TimetableChromosome> arrivals) {
+            population.sort(Comparator.comparingDouble(TimetableChromosome::getFitness));
+            for (int i = 0; i < arrivals.size() && i < population.size() - config.getEliteCount(); i++) {
+                population.set(i, arrivals.get(i).clone());
+            }
         }
-    }
 
-    private TimetableChromosome tournamentSelect(List<TimetableChromosome> pop) {
-        List<TimetableChromosome> tournament = new ArrayList<>();
-        for (int i = 0; i < TOURNAMENT_SIZE; i++) {
-            tournament.add(pop.get(random.nextInt(pop.size())));
+        TimetableChromosome finish() {
+            evaluatePopulation(population, parallel);
+            TimetableChromosome best = population.stream()
+                    .max(Comparator.comparingDouble(TimetableChromosome::getFitness))
+                    .orElse(bestOverall);
+            return bestOverall != null && bestOverall.getFitness() > best.getFitness() ? bestOverall : best;
         }
-        return tournament.stream().max(Comparator.comparingDouble(TimetableChromosome::getFitness)).orElse(pop.get(0));
     }
 
-    private List<TimetableChromosome> subjectBasedCrossover(TimetableChromosome p1, TimetableChromosome p2) {
-        TimetableChromosome c1 = new TimetableChromosome();
-        TimetableChromosome c2 = new TimetableChromosome();
+    List<TimetableChromosome> initializePopulation(SplittableRandom master, int size, boolean parallel) {
+        SplittableRandom[] streams = split(master, size);
+        TimetableChromosome[] pop = new TimetableChromosome[size];
+        int seeded = (int) Math.round(size * config.getSeededShare());
+
+        forEachParallel(size, i -> {
+            GeneticOperators operators = acquireOperators();
+            try {
+                pop[i] = i < seeded ? operators.createConstructive(streams[i]) : operators.createRandom(streams[i]);
+            } finally {
+                idleOperators.offer(operators);
+            }
+        }, parallel);
 
-        List<Integer> subjectIds = subjects.stream().map(Subject::getId).collect(Collectors.toList());
-        int splitPoint = random.nextInt(subjectIds.size());
+        return new ArrayList<>(Arrays.asList(pop));
+    }
 
-        Set<Integer> c1Subjects = new HashSet<>(subjectIds.subList(0, splitPoint));
-        Set<Integer> c2Subjects = new HashSet<>(subjectIds.subList(splitPoint, subjectIds.size()));
+    private List<TimetableChromosome> breed(List<TimetableChromosome> population, SplittableRandom master,
+            boolean parallel) {
+        int size = population.size();
+        TimetableChromosome[] nextGeneration = new TimetableChromosome[size];
 
-        for (TimetableEntry gene : p1.getGenes()) {
-            if (c1Subjects.contains(gene.getSubjectId())) {
-                c1.getGenes().add(cloneGene(gene));
-            } else {
-                c2.getGenes().add(cloneGene(gene));
-            }
+        List<TimetableChromosome> elites = population.stream()
+                .sorted((c1, c2) -> Double.compare(c2.getFitness(), c1.getFitness()))
+                .limit(config.getEliteCount())
+                .map(TimetableChromosome::clone)
+                .collect(Collectors.toList());
+        for (int i = 0; i < elites.size(); i++) {
+            nextGeneration[i] = elites.get(i);
         }
 
-        for (TimetableEntry gene : p2.getGenes()) {
-            if (c2Subjects.contains(gene.getSubjectId())) {
-                c1.getGenes().add(cloneGene(gene));
-            } else {
-                c2.getGenes().add(cloneGene(gene));
-            }
-        }
+        int firstChild = elites.size();
+        int pairs = (size - firstChild + 1) / 2;
+        SplittableRandom[] streams = split(master, pairs);
 
-        return Arrays.asList(c1, c2);
-    }
+        forEachParallel(pairs, pair -> {
+            SplittableRandom random = streams[pair];
+            GeneticOperators operators = acquireOperators();
+            try {
+                TimetableChromosome p1 = tournamentSelect(population, random);
+                TimetableChromosome p2 = tournamentSelect(population, random);
 
-    private void mutate(TimetableChromosome chromo) {
-        for (int i = 0; i < chromo.getGenes().size(); i++) {
-            if (random.nextDouble() < MUTATION_RATE) {
-                TimetableEntry gene = chromo.getGenes().get(i);
-                int mutationType = random.nextInt(4);
-
-                switch (mutationType) {
-                    case 0:
-                        mutateTimeSlot(gene, chromo.getGenes());
-                        break;
-                    case 1:
-                        mutateTeacher(gene, chromo.getGenes());
-                        break;
-                    case 2:
-                        mutateClassroom(gene, chromo.getGenes());
-                        break;
-                    case 3:
-                        swapGenes(chromo);
-                        break;
+                TimetableChromosome c1, c2;
+                if (random.nextDouble() < config.getCrossoverRate()) {
+                    TimetableChromosome[] children = operators.subjectBasedCrossover(p1, p2, random);
+                    c1 = children[0];
+                    c2 = children[1];
+                } else {
+                    c1 = p1.clone();
+                    c2 = p2.clone();
                 }
-            }
-        }
-    }
 
-    private void mutateTimeSlot(TimetableEntry gene, List<TimetableEntry> allGenes) {
-        for (int attempt = 0; attempt < 20; attempt++) {
-            String newDay = days[random.nextInt(days.length)];
-            int newPeriod = availablePeriods.get(random.nextInt(availablePeriods.size()));
-
-            if (allGenes.stream()
-                    .noneMatch(g -> g != gene && g.getDayOfWeek().equals(newDay) && g.getPeriodNumber() == newPeriod)) {
-                if (!isTeacherBusy(gene.getTeacherId(), newDay, newPeriod,
-                        allGenes.stream().filter(g -> g != gene).collect(Collectors.toList())) &&
-                        !isClassroomBusy(gene.getClassroomId(), newDay, newPeriod,
-                                allGenes.stream().filter(g -> g != gene).collect(Collectors.toList()))) {
-                    gene.setDayOfWeek(newDay);
-                    gene.setPeriodNumber(newPeriod);
-                    break;
+                int index = firstChild + pair * 2;
+                operators.mutate(c1, config.getMutationRate(), random);
+                nextGeneration[index] = c1;
+                if (index + 1 < size) {
+                    operators.mutate(c2, config.getMutationRate(), random);
+                    nextGeneration[index + 1] = c2;
                 }
+            } finally {
+                idleOperators.offer(operators);
             }
-        }
-    }
+        }, parallel);
 
-    private void mutateTeacher(TimetableEntry gene, List<TimetableEntry> allGenes) {
-        Subject subject = subjects.stream().filter(s -> s.getId().equals(gene.getSubjectId())).findFirst().orElse(null);
-        if (subject != null) {
-            User newTeacher = selectTeacher(subject,
-                    allGenes.stream().filter(g -> g != gene).collect(Collectors.toList()), gene.getDayOfWeek(),
-                    gene.getPeriodNumber());
-            if (newTeacher != null) {
-                gene.setTeacherId(newTeacher.getId());
-            }
-        }
+        return new ArrayList<>(Arrays.asList(nextGeneration));
     }
 
-    private void mutateClassroom(TimetableEntry gene, List<TimetableEntry> allGenes) {
-        Subject subject = subjects.stream().filter(s -> s.getId().equals(gene.getSubjectId())).findFirst().orElse(null);
-        if (subject != null) {
-            Classroom newClassroom = selectClassroom(subject,
-                    allGenes.stream().filter(g -> g != gene).collect(Collectors.toList()), gene.getDayOfWeek(),
-                    gene.getPeriodNumber());
-            if (newClassroom != null) {
-                gene.setClassroomId(newClassroom.getId());
+    void evaluatePopulation(List<TimetableChromosome> population, boolean parallel) {
+        forEachParallel(population.size(), i -> {
+            TimetableChromosome chromo = population.get(i);
+            if (chromo.isEvaluated())
+                return;
+
+            GeneticOperators operators = acquireOperators();
+            try {
+                operators.evaluate(chromo);
+            } finally {
+                idleOperators.offer(operators);
             }
-        }
+        }, parallel);
     }
 
-    private void swapGenes(TimetableChromosome chromo) {
-        if (chromo.getGenes().size() < 2)
-            return;
-
-        TimetableEntry gene1 = chromo.getGenes().get(random.nextInt(chromo.getGenes().size()));
-        TimetableEntry gene2 = chromo.getGenes().get(random.nextInt(chromo.getGenes().size()));
-
-        if (gene1 != gene2) {
-            String tempDay = gene1.getDayOfWeek();
-            int tempPeriod = gene1.getPeriodNumber();
-
-            gene1.setDayOfWeek(gene2.getDayOfWeek());
-            gene1.setPeriodNumber(gene2.getPeriodNumber());
-
-            gene2.setDayOfWeek(tempDay);
-            gene2.setPeriodNumber(tempPeriod);
+    private TimetableChromosome tournamentSelect(List<TimetableChromosome> pop, SplittableRandom random) {
+        TimetableChromosome best = null;
+        for (int i = 0; i < config.getTournamentSize(); i++) {
+            TimetableChromosome candidate = pop.get(random.nextInt(pop.size()));
+            if (best == null || candidate.getFitness() > best.getFitness())
+                best = candidate;
         }
+        return best;
     }
 
-    private List<TimetableChromosome> reinitializeWithElites(List<TimetableChromosome> population) {
+    private List<TimetableChromosome> reinitializeWithElites(List<TimetableChromosome> population,
+            SplittableRandom master, boolean parallel) {
         List<TimetableChromosome> elites = population.stream()
                 .sorted((c1, c2) -> Double.compare(c2.getFitness(), c1.getFitness()))
-                .limit(ELITE_COUNT)
+                .limit(config.getEliteCount())
                 .map(TimetableChromosome::clone)
                 .collect(Collectors.toList());
 
-        List<TimetableChromosome> newPop = initializePopulation();
+        List<TimetableChromosome> newPop = initializePopulation(master, population.size(), parallel);
 
-        for (int i = 0; i < ELITE_COUNT && i < newPop.size(); i++) {
+        for (int i = 0; i < elites.size() && i < newPop.size(); i++) {
             newPop.set(i, elites.get(i));
         }
 
         return newPop;
     }
 
-    private TimetableEntry cloneGene(TimetableEntry g) {
-        return TimetableEntry.builder()
-                .subjectId(g.getSubjectId())
-                .teacherId(g.getTeacherId())
-                .classroomId(g.getClassroomId())
-                .timeSlotId(g.getTimeSlotId())
-                .periodNumber(g.getPeriodNumber())
-                .dayOfWeek(g.getDayOfWeek())
-                .timetableId(g.getTimetableId())
-                .build();
+    private GeneticOperators acquireOperators() {
+        GeneticOperators operators = idleOperators.poll();
+        return operators != null ? operators : new GeneticOperators(problem, config.isDecomposed());
+    }
+
+    static SplittableRandom[] split(SplittableRandom master, int count) {
+        SplittableRandom[] streams = new SplittableRandom[count];
+        for (int i = 0; i < count; i++) {
+            streams[i] = master.split();
+        }
+        return streams;
+    }
+
+    private void forEachParallel(int count, IntConsumer task, boolean parallel) {
+        if (!parallel || pool.getParallelism() <= 1 || count < 2) {
+            for (int i = 0; i < count; i++) {
+                task.accept(i);
+            }
+            return;
+        }
+        pool.submit(() -> IntStream.range(0, count).parallel().forEach(task)).join();
     }
 }
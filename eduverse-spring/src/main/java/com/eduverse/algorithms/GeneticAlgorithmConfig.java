@@ -0,0 +1,91 @@
+package com.eduverse.algorithms;
+
+import com.eduverse.enums.MigrationTopology;
+import com.eduverse.enums.SolverEngine;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class GeneticAlgorithmConfig {
+    @Builder.Default
+    private SolverEngine engine = SolverEngine.GENETIC;
+
+    @Builder.Default
+    private int populationSize = 100;
+
+    @Builder.Default
+    private int maxGenerations = 200;
+
+    @Builder.Default
+    private double mutationRate = 0.15;
+
+    @Builder.Default
+    private double crossoverRate = 0.85;
+
+    @Builder.Default
+    private int eliteCount = 5;
+
+    @Builder.Default
+    private int tournamentSize = 5;
+
+    // Share of each new population built by DSATUR colouring rather than at random
+    @Builder.Default
+    private double seededShare = 0;
+
+    // Two-phase mode: evolve only days and periods, then match teachers and classrooms per slot
+    @Builder.Default
+    private boolean decomposed = false;
+
+    // Wall-clock limit for a run; 0 means no limit
+    @Builder.Default
+    private long timeBudgetMs = 0;
+
+    // A run stops early once its best timetable has no conflicts and beats this score
+    @Builder.Default
+    private double targetFitness = 95;
+
+    // Island model: 1 keeps a single panmictic population
+    @Builder.Default
+    private int islands = 1;
+
+    @Builder.Default
+    private int migrationInterval = 10;
+
+    @Builder.Default
+    private int migrants = 2;
+
+    @Builder.Default
+    private MigrationTopology topology = MigrationTopology.RING;
+
+    // Memetic stage: simulated annealing over this many of the final elites; 0 turns it off
+    @Builder.Default
+    private int localSearchElites = 0;
+
+    @Builder.Default
+    private int localSearchIterations = 20000;
+
+    // Wall-clock slice for the stage; 0 leaves only the iteration cap
+    @Builder.Default
+    private long localSearchMs = 500;
+
+    // Independent construct-and-repair runs of the greedy engine
+    @Builder.Default
+    private int restarts = 8;
+
+    // Search nodes the exact engine may visit before it settles for its best timetable
+    @Builder.Default
+    private long exactNodeLimit = 2_000_000;
+
+    // Single-cohort problems with fewer classes x slots than this go to the exact engine; 0 turns that off
+    @Builder.Default
+    private long exactSizeLimit = 0;
+
+    // Generations between listener notifications
+    @Builder.Default
+    private int progressInterval = 1;
+}
@@ -0,0 +1,540 @@
+package com.eduverse.algorithms;
+
+import java.util.SplittableRandom;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Construction, crossover, mutation and local search for one worker thread. Owns a private
+ * {@link FitnessEvaluator} (and with it the occupancy index), and draws all
+ * randomness from the stream passed in, so the outcome of a task depends only
+ * on that stream and not on which thread runs it.
+ *
+ * In decomposed mode the operators only move classes between slots; every
+ * chromosome they hand back has had its teachers and classrooms reassigned by
+ * the {@link ResourceMatcher}.
+ */
+class GeneticOperators {
+    // Annealing temperatures in fitness points of one cohort: a conflict costs 15, a gap 25
+    private static final double START_TEMPERATURE = 10;
+    private static final double END_TEMPERATURE = 0.1;
+
+    private final TimetableProblem problem;
+    private final BookingLedger ledger;
+    private final FitnessEvaluator evaluator;
+    private final OccupancyIndex occupancy;
+    private final ResourceMatcher matcher;
+
+    GeneticOperators(TimetableProblem problem) {
+        this(problem, false);
+    }
+
+    GeneticOperators(TimetableProblem problem, boolean decomposed) {
+        this.problem = problem;
+        this.ledger = problem.getLedger();
+        this.evaluator = new FitnessEvaluator(problem);
+        this.occupancy = evaluator.getOccupancy();
+        this.matcher = decomposed ? new ResourceMatcher(problem) : null;
+    }
+
+    void evaluate(TimetableChromosome chromo) {
+        evaluator.evaluate(chromo);
+    }
+
+    TimetableChromosome createRandom(SplittableRandom random) {
+        TimetableChromosome chromo = new TimetableChromosome(problem.getTotalClasses());
+
+        for (int subject = 0; subject < problem.getSubjectCount(); subject++) {
+            int required = problem.getClassesPerWeek(subject);
+            int attempts = 0;
+            int scheduled = 0;
+
+            while (scheduled < required && attempts < 100) {
+                if (addRandomGene(chromo, subject, random)) {
+                    scheduled++;
+                }
+                attempts++;
+            }
+        }
+
+        finish(chromo);
+        return chromo;
+    }
+
+    /**
+     * Builds a chromosome by DSATUR colouring: classes are vertices, slots are
+     * colours, and all classes of the cohort conflict with each other. The
+     * subject with the fewest usable slots left (ties: most classes still to
+     * place, then random) is coloured next, in the slot whose placement costs
+     * the least fitness, ties again broken at random so seeds differ.
+     *
+     * With a single cohort a slot usable for a subject stays usable until the
+     * cohort takes it, since teachers and classrooms picked here are only busy
+     * in taken slots. With several, a slot also drops out once other cohorts
+     * hold all its teachers or rooms. Classes with no usable slot left are
+     * dropped, as in {@link #createRandom}.
+     */
+    TimetableChromosome createConstructive(SplittableRandom random) {
+        TimetableChromosome chromo = new TimetableChromosome(problem.getTotalClasses());
+        int slots = problem.getSlotCount();
+        int periods = problem.getPeriods();
+        int words = (slots + 63) >>> 6;
+        long[] taken = new long[problem.getCohortCount() * words];
+        int[] remaining = new int[problem.getSubjectCount()];
+        for (int subject = 0; subject < remaining.length; subject++) {
+            remaining[subject] = problem.getClassesPerWeek(subject);
+        }
+
+        while (true) {
+            int subject = -1;
+            int fewestFree = Integer.MAX_VALUE;
+            int ties = 0;
+            for (int s = 0; s < remaining.length; s++) {
+                if (remaining[s] == 0)
+                    continue;
+                int free = countFree(s, taken, problem.getCohort(s) * words);
+                if (free == 0) {
+                    remaining[s] = 0;
+                } else if (free < fewestFree || free == fewestFree && remaining[s] > remaining[subject]) {
+                    subject = s;
+                    fewestFree = free;
+                    ties = 1;
+                } else if (free == fewestFree && remaining[s] == remaining[subject] && random.nextInt(++ties) == 0) {
+                    subject = s;
+                }
+            }
+            if (subject < 0)
+                break;
+
+            int offset = problem.getCohort(subject) * words;
+            int bestSlot = -1;
+            int bestTeacher = -1;
+            double bestDelta = Double.NEGATIVE_INFINITY;
+            ties = 0;
+            for (int slot = 0; slot < slots; slot++) {
+                if (!test(problem.getUsableSlots(subject), 0, slot) || test(taken, offset, slot))
+                    continue;
+
+                int teacher = selectTeacher(subject, slot, random);
+                // Any free classroom scores the same; the one kept is drawn at random below
+                int classroom = firstFreeClassroom(slot);
+                if (teacher < 0 || classroom < 0)
+                    continue;
+                int day = slot / periods;
+                int period = slot % periods + 1;
+                double delta = evaluator.probe(subject, teacher, classroom, day, period);
+
+                if (delta > bestDelta + 1e-9) {
+                    bestSlot = slot;
+                    bestTeacher = teacher;
+                    bestDelta = delta;
+                    ties = 1;
+                } else if (delta > bestDelta - 1e-9 && random.nextInt(++ties) == 0) {
+                    bestSlot = slot;
+                    bestTeacher = teacher;
+                }
+            }
+
+            if (bestSlot < 0) {
+                remaining[subject] = 0;
+                continue;
+            }
+            int classroom = selectClassroom(bestSlot, random);
+            evaluator.addGene(chromo, chromo.addGene(subject, bestTeacher, classroom, bestSlot / periods,
+                    bestSlot % periods + 1));
+            taken[offset + (bestSlot >>> 6)] |= 1L << bestSlot;
+            remaining[subject]--;
+        }
+
+        finish(chromo);
+        return chromo;
+    }
+
+    /**
+     * Stores the loaded chromosome's score and unloads it; in decomposed mode
+     * its resources are matched first and it is scored again.
+     */
+    private void finish(TimetableChromosome chromo) {
+        evaluator.commit();
+        evaluator.store(chromo);
+        evaluator.unload(chromo);
+        if (matcher != null) {
+            matcher.assign(chromo);
+            evaluator.evaluate(chromo);
+        }
+    }
+
+    private int countFree(int subject, long[] taken, int offset) {
+        long[] usable = problem.getUsableSlots(subject);
+        int free = 0;
+        for (int w = 0; w < usable.length; w++) {
+            long open = usable[w] & ~taken[offset + w];
+            if (problem.getCohortCount() == 1) {
+                free += Long.bitCount(open);
+                continue;
+            }
+            for (; open != 0; open &= open - 1) {
+                int slot = (w << 6) + Long.numberOfTrailingZeros(open);
+                if (hasFreeTeacher(subject, slot) && firstFreeClassroom(slot) >= 0)
+                    free++;
+            }
+        }
+        return free;
+    }
+
+    private static boolean test(long[] bits, int offset, int slot) {
+        return (bits[offset + (slot >>> 6)] & (1L << slot)) != 0;
+    }
+
+    private boolean hasFreeTeacher(int subject, int slot) {
+        int pinned = problem.getPinnedTeacher(subject);
+        if (pinned >= 0 && !isTeacherBusy(pinned, slot))
+            return true;
+        for (int teacher : problem.getDepartmentTeachers(subject)) {
+            if (!isTeacherBusy(teacher, slot))
+                return true;
+        }
+        return false;
+    }
+
+    private int firstFreeClassroom(int slot) {
+        for (int classroom = 0; classroom < problem.getClassroomCount(); classroom++) {
+            if (!isClassroomBusy(classroom, slot))
+                return classroom;
+        }
+        return -1;
+    }
+
+    private boolean addRandomGene(TimetableChromosome chromo, int subject, SplittableRandom random) {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            int day = random.nextInt(problem.getDayCount());
+            int period = 1 + random.nextInt(problem.getPeriods());
+            int slot = problem.slotOf(day, period);
+
+            if (occupancy.isSlotTaken(problem.getCohort(subject), slot))
+                continue;
+
+            int teacher = selectTeacher(subject, slot, random);
+            if (teacher < 0)
+                continue;
+
+            int classroom = selectClassroom(slot, random);
+            if (classroom < 0)
+                continue;
+
+            evaluator.addGene(chromo, chromo.addGene(subject, teacher, classroom, day, period));
+            return true;
+        }
+
+        return false;
+    }
+
+    private int selectTeacher(int subject, int slot, SplittableRandom random) {
+        int pinned = problem.getPinnedTeacher(subject);
+        if (pinned >= 0 && !isTeacherBusy(pinned, slot)) {
+            return pinned;
+        }
+
+        int[] deptTeachers = problem.getDepartmentTeachers(subject);
+        int available = 0;
+        for (int teacher : deptTeachers) {
+            if (!isTeacherBusy(teacher, slot))
+                available++;
+        }
+
+        if (available > 0) {
+            int pick = random.nextInt(available);
+            for (int teacher : deptTeachers) {
+                if (!isTeacherBusy(teacher, slot) && pick-- == 0)
+                    return teacher;
+            }
+        }
+
+        return -1;
+    }
+
+    private int selectClassroom(int slot, SplittableRandom random) {
+        int available = 0;
+        for (int classroom = 0; classroom < problem.getClassroomCount(); classroom++) {
+            if (!isClassroomBusy(classroom, slot))
+                available++;
+        }
+
+        if (available > 0) {
+            int pick = random.nextInt(available);
+            for (int classroom = 0; classroom < problem.getClassroomCount(); classroom++) {
+                if (!isClassroomBusy(classroom, slot) && pick-- == 0)
+                    return classroom;
+            }
+        }
+
+        return -1;
+    }
+
+    private boolean isTeacherBusy(int teacher, int slot) {
+        return occupancy.isTeacherBusy(teacher, slot) || ledger.isTeacherBooked(teacher, slot);
+    }
+
+    private boolean isClassroomBusy(int classroom, int slot) {
+        return occupancy.isClassroomBusy(classroom, slot) || ledger.isClassroomBooked(classroom, slot);
+    }
+
+    TimetableChromosome[] subjectBasedCrossover(TimetableChromosome p1, TimetableChromosome p2,
+            SplittableRandom random) {
+        TimetableChromosome c1 = new TimetableChromosome(problem.getTotalClasses());
+        TimetableChromosome c2 = new TimetableChromosome(problem.getTotalClasses());
+
+        int splitPoint = random.nextInt(problem.getSubjectCount());
+
+        for (int g = 0; g < p1.size(); g++) {
+            if (p1.getSubject(g) < splitPoint) {
+                c1.copyGene(p1, g);
+            } else {
+                c2.copyGene(p1, g);
+            }
+        }
+
+        for (int g = 0; g < p2.size(); g++) {
+            if (p2.getSubject(g) >= splitPoint) {
+                c1.copyGene(p2, g);
+            } else {
+                c2.copyGene(p2, g);
+            }
+        }
+
+        return new TimetableChromosome[] { c1, c2 };
+    }
+
+    /**
+     * Mutates the chromosome and leaves it scored. The genes are loaded into
+     * the evaluator only once the first mutation fires, so a scored clone
+     * that no mutation touches keeps its parent's score as is. For a scored
+     * chromosome each operator returns its fitness delta and the deltas are
+     * added to the stored fitness; only an unscored crossover child gets a
+     * full pass. Decomposed mode only draws the slot moves, and rescoring
+     * after the resource matching is unavoidable there.
+     */
+    void mutate(TimetableChromosome chromo, double mutationRate, SplittableRandom random) {
+        boolean loaded = false;
+        double delta = 0;
+
+        for (int i = 0; i < chromo.size(); i++) {
+            if (random.nextDouble() < mutationRate) {
+                int mutationType = matcher == null ? random.nextInt(4) : random.nextInt(2) * 3;
+                if (!loaded) {
+                    evaluator.load(chromo);
+                    loaded = true;
+                }
+
+                switch (mutationType) {
+                    case 0:
+                        delta += mutateTimeSlot(chromo, i, random);
+                        break;
+                    case 1:
+                        delta += mutateTeacher(chromo, i, random);
+                        break;
+                    case 2:
+                        delta += mutateClassroom(chromo, i, random);
+                        break;
+                    case 3:
+                        delta += swapGenes(chromo, random);
+                        break;
+                }
+            }
+        }
+
+        if (chromo.isEvaluated() && !loaded)
+            return;
+        if (!chromo.isEvaluated() || matcher != null) {
+            if (!loaded)
+                evaluator.load(chromo);
+            finish(chromo);
+            return;
+        }
+
+        chromo.setFitness(chromo.getFitness() + delta);
+        chromo.setConflicts(evaluator.getConflicts());
+        evaluator.unload(chromo);
+    }
+
+    private double mutateTimeSlot(TimetableChromosome chromo, int gene, SplittableRandom random) {
+        int teacher = chromo.getTeacher(gene);
+        int classroom = chromo.getClassroom(gene);
+        evaluator.removeGene(chromo, gene);
+
+        for (int attempt = 0; attempt < 20; attempt++) {
+            int newDay = random.nextInt(problem.getDayCount());
+            int newPeriod = 1 + random.nextInt(problem.getPeriods());
+            int newSlot = problem.slotOf(newDay, newPeriod);
+
+            boolean resourcesFree = matcher != null
+                    ? test(problem.getUsableSlots(chromo.getSubject(gene)), 0, newSlot)
+                    : !isTeacherBusy(teacher, newSlot) && !isClassroomBusy(classroom, newSlot);
+            if (!occupancy.isSlotTaken(problem.getCohort(chromo.getSubject(gene)), newSlot) && resourcesFree) {
+                chromo.setSlot(gene, newDay, newPeriod);
+                break;
+            }
+        }
+
+        evaluator.addGene(chromo, gene);
+        return evaluator.commit();
+    }
+
+    private double mutateTeacher(TimetableChromosome chromo, int gene, SplittableRandom random) {
+        evaluator.removeGene(chromo, gene);
+
+        int slot = problem.slotOf(chromo.getDay(gene), chromo.getPeriod(gene));
+        int newTeacher = selectTeacher(chromo.getSubject(gene), slot, random);
+        if (newTeacher >= 0) {
+            chromo.setTeacher(gene, newTeacher);
+        }
+
+        evaluator.addGene(chromo, gene);
+        return evaluator.commit();
+    }
+
+    private double mutateClassroom(TimetableChromosome chromo, int gene, SplittableRandom random) {
+        evaluator.removeGene(chromo, gene);
+
+        int slot = problem.slotOf(chromo.getDay(gene), chromo.getPeriod(gene));
+        int newClassroom = selectClassroom(slot, random);
+        if (newClassroom >= 0) {
+            chromo.setClassroom(gene, newClassroom);
+        }
+
+        evaluator.addGene(chromo, gene);
+        return evaluator.commit();
+    }
+
+    private double swapGenes(TimetableChromosome chromo, SplittableRandom random) {
+        if (chromo.size() < 2)
+            return 0;
+
+        int gene1 = random.nextInt(chromo.size());
+        int gene2 = random.nextInt(chromo.size());
+
+        if (gene1 == gene2)
+            return 0;
+
+        evaluator.removeGene(chromo, gene1);
+        evaluator.removeGene(chromo, gene2);
+
+        int tempDay = chromo.getDay(gene1);
+        int tempPeriod = chromo.getPeriod(gene1);
+
+        chromo.setSlot(gene1, chromo.getDay(gene2), chromo.getPeriod(gene2));
+        chromo.setSlot(gene2, tempDay, tempPeriod);
+
+        evaluator.addGene(chromo, gene1);
+        evaluator.addGene(chromo, gene2);
+        return evaluator.commit();
+    }
+
+    /**
+     * Simulated annealing from a copy of the chromosome. Each move shifts a
+     * class to another slot, swaps the slots of two classes or reassigns a
+     * class's teacher or classroom, and is scored by applying it to the loaded
+     * counters; rejected moves are undone the same way. Stops after the given
+     * number of moves or once {@code stop} returns true (polled every 256
+     * moves), and returns the best state seen, evaluated. In decomposed mode
+     * that state's resources are matched again and the matched version is kept
+     * if it scores at least as well.
+     */
+    TimetableChromosome anneal(TimetableChromosome start, int iterations, BooleanSupplier stop,
+            SplittableRandom random) {
+        TimetableChromosome chromo = start.clone();
+        // A separate copy, since the working state may end up worse than the start
+        TimetableChromosome best = chromo.clone();
+        if (chromo.size() == 0)
+            return best;
+
+        evaluator.load(chromo);
+        double current = evaluator.unclampedScore();
+        double bestScore = current;
+        // The score is a mean over cohorts, so one move weighs less when there are several
+        double startTemperature = START_TEMPERATURE / problem.getCohortCount();
+
+        for (int i = 0; i < iterations; i++) {
+            if ((i & 255) == 0 && stop.getAsBoolean())
+                break;
+
+            double temperature = startTemperature
+                    * Math.pow(END_TEMPERATURE / START_TEMPERATURE, (double) i / iterations);
+            int gene1 = random.nextInt(chromo.size());
+            int gene2 = random.nextInt(chromo.size());
+            int day1 = chromo.getDay(gene1);
+            int period1 = chromo.getPeriod(gene1);
+            int day2 = chromo.getDay(gene2);
+            int period2 = chromo.getPeriod(gene2);
+            int teacher = chromo.getTeacher(gene1);
+            int classroom = chromo.getClassroom(gene1);
+            int move = random.nextInt(3);
+
+            evaluator.removeGene(chromo, gene1);
+            if (move == 0) {
+                moveToFreeSlot(chromo, gene1, random);
+            } else if (move == 1 && gene1 != gene2) {
+                evaluator.removeGene(chromo, gene2);
+                chromo.setSlot(gene1, day2, period2);
+                chromo.setSlot(gene2, day1, period1);
+                evaluator.addGene(chromo, gene2);
+            } else {
+                reassign(chromo, gene1, random);
+            }
+            evaluator.addGene(chromo, gene1);
+
+            double next = evaluator.unclampedScore();
+            if (next >= current || random.nextDouble() < Math.exp((next - current) / temperature)) {
+                current = next;
+                if (current > bestScore) {
+                    bestScore = current;
+                    best = chromo.clone();
+                }
+                continue;
+            }
+
+            evaluator.removeGene(chromo, gene1);
+            if (move == 1 && gene1 != gene2) {
+                evaluator.removeGene(chromo, gene2);
+                chromo.setSlot(gene2, day2, period2);
+                evaluator.addGene(chromo, gene2);
+            }
+            chromo.setSlot(gene1, day1, period1);
+            chromo.setTeacher(gene1, teacher);
+            chromo.setClassroom(gene1, classroom);
+            evaluator.addGene(chromo, gene1);
+        }
+
+        evaluator.unload(chromo);
+        evaluator.evaluate(best);
+        if (matcher != null) {
+            TimetableChromosome matched = best.clone();
+            matcher.assign(matched);
+            evaluator.evaluate(matched);
+            if (matched.getFitness() >= best.getFitness())
+                best = matched;
+        }
+        return best;
+    }
+
+    private void moveToFreeSlot(TimetableChromosome chromo, int gene, SplittableRandom random) {
+        for (int attempt = 0; attempt < 20; attempt++) {
+            int day = random.nextInt(problem.getDayCount());
+            int period = 1 + random.nextInt(problem.getPeriods());
+            int cohort = problem.getCohort(chromo.getSubject(gene));
+            if (!occupancy.isSlotTaken(cohort, problem.slotOf(day, period)) || attempt == 19) {
+                chromo.setSlot(gene, day, period);
+                return;
+            }
+        }
+    }
+
+    private void reassign(TimetableChromosome chromo, int gene, SplittableRandom random) {
+        int slot = problem.slotOf(chromo.getDay(gene), chromo.getPeriod(gene));
+        int teacher = selectTeacher(chromo.getSubject(gene), slot, random);
+        if (teacher >= 0)
+            chromo.setTeacher(gene, teacher);
+        int classroom = selectClassroom(slot, random);
+        if (classroom >= 0)
+            chromo.setClassroom(gene, classroom);
+    }
+}
@@ -0,0 +1,104 @@
+package com.eduverse.algorithms;
+
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+/**
+ * Greedy construction plus repair: each restart builds a timetable by DSATUR
+ * colouring and then anneals it for {@code localSearchIterations} moves. The
+ * restarts run in parallel on their own {@link SplittableRandom} streams and
+ * the best one wins, so the result only depends on the seed unless the time
+ * budget or a cancellation cuts restarts short.
+ *
+ * Usually several times faster than the GA. Which of the two finds the
+ * better timetable depends on the cohort, hence {@link PortfolioSolver}.
+ */
+public class GreedyRepairSolver implements TimetableSolver {
+    private final TimetableProblem problem;
+    private final GeneticAlgorithmConfig config;
+    private final long seed;
+    private final ForkJoinPool pool;
+    private GenerationListener listener;
+    private BooleanSupplier cancellation = () -> false;
+
+    public GreedyRepairSolver(TimetableProblem problem, GeneticAlgorithmConfig config, long seed, ForkJoinPool pool) {
+        this.problem = problem;
+        this.config = config;
+        this.seed = seed;
+        this.pool = pool;
+    }
+
+    @Override
+    public TimetableProblem getProblem() {
+        return problem;
+    }
+
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Notified once, when all restarts are done; the generation count is the
+     * number of restarts that ran.
+     */
+    @Override
+    public void setListener(GenerationListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void setCancellation(BooleanSupplier cancellation) {
+        this.cancellation = cancellation;
+    }
+
+    @Override
+    public TimetableChromosome run() {
+        long startNanos = System.nanoTime();
+        long budgetNanos = config.getTimeBudgetMs() * 1_000_000;
+        BooleanSupplier stop = () -> budgetNanos > 0 && System.nanoTime() - startNanos - budgetNanos >= 0
+                || cancellation.getAsBoolean();
+
+        int restarts = Math.max(1, config.getRestarts());
+        SplittableRandom[] streams = GeneticAlgorithm.split(new SplittableRandom(seed), restarts);
+        TimetableChromosome[] results = new TimetableChromosome[restarts];
+        Queue<GeneticOperators> idleOperators = new ConcurrentLinkedQueue<>();
+
+        pool.submit(() -> IntStream.range(0, restarts).parallel().forEach(i -> {
+            // The first restart always runs so there is a result to return
+            if (i > 0 && stop.getAsBoolean())
+                return;
+            GeneticOperators operators = idleOperators.poll();
+            if (operators == null)
+                operators = new GeneticOperators(problem, config.isDecomposed());
+            try {
+                TimetableChromosome chromo = operators.createConstructive(streams[i]);
+                if (config.getLocalSearchIterations() > 0)
+                    chromo = operators.anneal(chromo, config.getLocalSearchIterations(), stop, streams[i]);
+                results[i] = chromo;
+            } finally {
+                idleOperators.offer(operators);
+            }
+        })).join();
+
+        TimetableChromosome best = null;
+        int completed = 0;
+        for (TimetableChromosome candidate : results) {
+            if (candidate == null)
+                continue;
+            completed++;
+            if (best == null || candidate.getFitness() > best.getFitness())
+                best = candidate;
+        }
+
+        if (listener != null) {
+            listener.onGeneration(new GenerationProgress(completed, best.getFitness(), best.getConflicts(), 0,
+                    (System.nanoTime() - startNanos) / 1_000_000));
+        }
+        return best;
+    }
+}
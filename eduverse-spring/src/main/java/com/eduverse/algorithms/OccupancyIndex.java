@@ -0,0 +1,133 @@
+package com.eduverse.algorithms;
+
+/**
+ * Occupancy of one chromosome as packed slot bitmaps per teacher, per classroom
+ * and per cohort's week grid, so busy checks are a single bit test. Counts
+ * are kept next to the bitmaps because a chromosome may double-book a slot and
+ * a bit may only be cleared once its last gene has moved away.
+ *
+ * One instance is reused across chromosomes: {@link #load} it, move genes
+ * through {@link #add}/{@link #remove}, then {@link #unload} it again.
+ */
+public class OccupancyIndex {
+    private final TimetableProblem problem;
+    private final int periods;
+    private final int slots;
+    private final int words;
+
+    private final int[] slotCount;
+    private final int[] teacherCount;
+    private final int[] classroomCount;
+
+    private final long[] slotBits;
+    private final long[] teacherBits;
+    private final long[] classroomBits;
+
+    private int slotClashes;
+    private int teacherClashes;
+    private int classroomClashes;
+
+    public OccupancyIndex(TimetableProblem problem) {
+        this.problem = problem;
+        this.periods = problem.getPeriods();
+        this.slots = problem.getSlotCount();
+        this.words = (slots + 63) >>> 6;
+
+        this.slotCount = new int[problem.getCohortCount() * slots];
+        this.teacherCount = new int[problem.getTeacherCount() * slots];
+        this.classroomCount = new int[problem.getClassroomCount() * slots];
+
+        this.slotBits = new long[problem.getCohortCount() * words];
+        this.teacherBits = new long[problem.getTeacherCount() * words];
+        this.classroomBits = new long[problem.getClassroomCount() * words];
+    }
+
+    public void load(TimetableChromosome chromo) {
+        for (int g = 0; g < chromo.size(); g++) {
+            add(problem.getCohort(chromo.getSubject(g)), chromo.getTeacher(g), chromo.getClassroom(g),
+                    problem.slotOf(chromo.getDay(g), chromo.getPeriod(g)));
+        }
+    }
+
+    public void unload(TimetableChromosome chromo) {
+        for (int g = 0; g < chromo.size(); g++) {
+            remove(problem.getCohort(chromo.getSubject(g)), chromo.getTeacher(g), chromo.getClassroom(g),
+                    problem.slotOf(chromo.getDay(g), chromo.getPeriod(g)));
+        }
+    }
+
+    public void add(int cohort, int teacher, int classroom, int slot) {
+        if (slotCount[cohort * slots + slot]++ == 0)
+            set(slotBits, cohort * words, slot);
+        else
+            slotClashes++;
+        if (teacherCount[teacher * slots + slot]++ == 0)
+            set(teacherBits, teacher * words, slot);
+        else
+            teacherClashes++;
+        if (classroomCount[classroom * slots + slot]++ == 0)
+            set(classroomBits, classroom * words, slot);
+        else
+            classroomClashes++;
+    }
+
+    public void remove(int cohort, int teacher, int classroom, int slot) {
+        if (--slotCount[cohort * slots + slot] == 0)
+            clear(slotBits, cohort * words, slot);
+        else
+            slotClashes--;
+        if (--teacherCount[teacher * slots + slot] == 0)
+            clear(teacherBits, teacher * words, slot);
+        else
+            teacherClashes--;
+        if (--classroomCount[classroom * slots + slot] == 0)
+            clear(classroomBits, classroom * words, slot);
+        else
+            classroomClashes--;
+    }
+
+    public boolean isSlotTaken(int cohort, int slot) {
+        return test(slotBits, cohort * words, slot);
+    }
+
+    public boolean isTeacherBusy(int teacher, int slot) {
+        return test(teacherBits, teacher * words, slot);
+    }
+
+    public boolean isClassroomBusy(int classroom, int slot) {
+        return test(classroomBits, classroom * words, slot);
+    }
+
+    /**
+     * Periods of one day the cohort is busy, period {@code p} in bit {@code p - 1}.
+     */
+    public long dayMask(int cohort, int day) {
+        int first = cohort * words * 64 + day * periods;
+        int word = first >>> 6;
+        int shift = first & 63;
+        long mask = slotBits[word] >>> shift;
+        if (shift + periods > 64)
+            mask |= slotBits[word + 1] << (64 - shift);
+        return periods == 64 ? mask : mask & ((1L << periods) - 1);
+    }
+
+    /**
+     * Genes beyond the first in the same cohort slot, the same teacher slot and the
+     * same classroom slot; each extra gene is one conflict.
+     */
+    public int getClashes() {
+        return slotClashes + teacherClashes + classroomClashes;
+    }
+
+    private static void set(long[] bits, int offset, int slot) {
+        bits[offset + (slot >>> 6)] |= 1L << slot;
+    }
+
+    private static void clear(long[] bits, int offset, int slot) {
+        bits[offset + (slot >>> 6)] &= ~(1L << slot);
+    }
+
+    private static boolean test(long[] bits, int offset, int slot) {
+        return (bits[offset + (slot >>> 6)] & (1L << slot)) != 0;
+    }
+}
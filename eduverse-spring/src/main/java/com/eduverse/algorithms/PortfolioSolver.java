@@ -0,0 +1,105 @@
+package com.eduverse.algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Races several solvers on the same problem and keeps the fittest result.
+ * The first member runs on the calling thread and the rest on the pool. As
+ * soon as one member returns a conflict-free timetable above the target
+ * fitness, or proves its result optimal, the others are cancelled, which
+ * trims the tail latency of whichever engine suits the cohort worse; each
+ * member also honours the time budget.
+ *
+ * Progress is forwarded from the first member only, so generation numbers
+ * stay monotonic.
+ */
+public class PortfolioSolver implements TimetableSolver {
+    private final TimetableProblem problem;
+    private final GeneticAlgorithmConfig config;
+    private final long seed;
+    private final ForkJoinPool pool;
+    private final List<TimetableSolver> members;
+    private BooleanSupplier cancellation = () -> false;
+    private TimetableSolver winner;
+
+    public PortfolioSolver(TimetableProblem problem, GeneticAlgorithmConfig config, long seed, ForkJoinPool pool,
+            TimetableSolver... members) {
+        this.problem = problem;
+        this.config = config;
+        this.seed = seed;
+        this.pool = pool;
+        this.members = List.of(members);
+    }
+
+    @Override
+    public TimetableProblem getProblem() {
+        return problem;
+    }
+
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public void setListener(GenerationListener listener) {
+        members.get(0).setListener(listener);
+    }
+
+    @Override
+    public void setCancellation(BooleanSupplier cancellation) {
+        this.cancellation = cancellation;
+    }
+
+    @Override
+    public boolean isProvenOptimal() {
+        return winner != null && winner.isProvenOptimal();
+    }
+
+    @Override
+    public String getVerdict() {
+        return winner != null ? winner.getVerdict() : null;
+    }
+
+    @Override
+    public TimetableChromosome run() {
+        AtomicBoolean settled = new AtomicBoolean();
+        for (TimetableSolver member : members) {
+            member.setCancellation(() -> settled.get() || cancellation.getAsBoolean());
+        }
+
+        List<ForkJoinTask<TimetableChromosome>> others = new ArrayList<>();
+        for (TimetableSolver member : members.subList(1, members.size())) {
+            others.add(pool.submit(() -> settle(member, member.run(), settled)));
+        }
+
+        TimetableChromosome best = settle(members.get(0), members.get(0).run(), settled);
+        winner = members.get(0);
+        for (int i = 0; i < others.size(); i++) {
+            TimetableChromosome candidate = others.get(i).join();
+            TimetableSolver member = members.get(i + 1);
+            if (candidate.getFitness() > best.getFitness()
+                    || candidate.getFitness() == best.getFitness() && member.isProvenOptimal()) {
+                best = candidate;
+                winner = member;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Stops the other members once a result is good enough to keep: proven
+     * optimal, or conflict-free above the target fitness.
+     */
+    private TimetableChromosome settle(TimetableSolver member, TimetableChromosome result, AtomicBoolean settled) {
+        if (member.isProvenOptimal()
+                || result.getConflicts() == 0 && result.getFitness() > config.getTargetFitness())
+            settled.set(true);
+        return result;
+    }
+}
@@ -0,0 +1,263 @@
+package com.eduverse.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Resource phase of the decomposed mode: with every class's day and period
+ * fixed, assigns teachers and classrooms slot by slot so that as few classes
+ * as possible share a teacher or room.
+ *
+ * A pinned subject keeps its teacher when the ledger leaves that teacher
+ * free. The other classes of the slot are matched to free department
+ * teachers by Hopcroft-Karp, starting from a greedy matching that prefers the
+ * teacher with the fewest classes that day. Every free classroom suits every
+ * class, so rooms are matched by handing them out in index order. Classes
+ * left unmatched keep a teacher or room that clashes.
+ *
+ * The result depends only on the day and period of each gene. Not
+ * thread-safe: each thread needs its own matcher.
+ */
+class ResourceMatcher {
+    private static final int NIL = -1;
+
+    private final TimetableProblem problem;
+    private final BookingLedger ledger;
+    private final int slots;
+    private final int periods;
+
+    // Genes bucketed by slot
+    private int[] slotStart;
+    private int[] order;
+
+    private final int[] teacherDay;
+    private final int[] teacherOwner;
+    private int stamp;
+
+    // Hopcroft-Karp state over the unassigned classes of one slot
+    private int[] left = new int[8];
+    private int[] adjStart = new int[9];
+    private int[] adj = new int[32];
+    private int[] matchLeft = new int[8];
+    private int[] distance = new int[8];
+    private int[] queue = new int[8];
+    private final int[] matchRight;
+    private int[] candidates;
+
+    ResourceMatcher(TimetableProblem problem) {
+        this.problem = problem;
+        this.ledger = problem.getLedger();
+        this.slots = problem.getSlotCount();
+        this.periods = problem.getPeriods();
+        this.slotStart = new int[slots + 1];
+        this.order = new int[problem.getTotalClasses()];
+        this.teacherDay = new int[problem.getTeacherCount()];
+        this.teacherOwner = new int[problem.getTeacherCount()];
+        this.matchRight = new int[problem.getTeacherCount()];
+        this.candidates = new int[problem.getTeacherCount()];
+        Arrays.fill(matchRight, NIL);
+    }
+
+    /**
+     * Overwrites the teacher and classroom of every gene. The chromosome
+     * must not be loaded in an evaluator while this runs.
+     */
+    void assign(TimetableChromosome chromo) {
+        bucket(chromo);
+
+        for (int slot = 0; slot < slots; slot++) {
+            if (slot % periods == 0)
+                Arrays.fill(teacherDay, 0);
+            int from = slotStart[slot];
+            int to = slotStart[slot + 1];
+            if (from == to)
+                continue;
+
+            stamp++;
+            assignTeachers(chromo, from, to, slot);
+            assignClassrooms(chromo, from, to, slot);
+            for (int i = from; i < to; i++) {
+                teacherDay[chromo.getTeacher(order[i])]++;
+            }
+        }
+    }
+
+    private void bucket(TimetableChromosome chromo) {
+        if (order.length < chromo.size())
+            order = new int[chromo.size()];
+        Arrays.fill(slotStart, 0);
+        for (int g = 0; g < chromo.size(); g++) {
+            slotStart[problem.slotOf(chromo.getDay(g), chromo.getPeriod(g)) + 1]++;
+        }
+        for (int slot = 0; slot < slots; slot++) {
+            slotStart[slot + 1] += slotStart[slot];
+        }
+        int[] next = Arrays.copyOf(slotStart, slots);
+        for (int g = 0; g < chromo.size(); g++) {
+            order[next[problem.slotOf(chromo.getDay(g), chromo.getPeriod(g))]++] = g;
+        }
+    }
+
+    private void assignTeachers(TimetableChromosome chromo, int from, int to, int slot) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            int gene = order[i];
+            int pinned = problem.getPinnedTeacher(chromo.getSubject(gene));
+            if (pinned >= 0 && !ledger.isTeacherBooked(pinned, slot) && !isOwned(pinned)) {
+                chromo.setTeacher(gene, pinned);
+                teacherOwner[pinned] = stamp;
+            } else {
+                ensureLeft(count + 1);
+                left[count++] = gene;
+            }
+        }
+        if (count == 0)
+            return;
+
+        adjStart[0] = 0;
+        for (int u = 0; u < count; u++) {
+            int[] department = problem.getDepartmentTeachers(chromo.getSubject(left[u]));
+            int found = 0;
+            for (int teacher : department) {
+                if (!ledger.isTeacherBooked(teacher, slot) && !isOwned(teacher))
+                    candidates[found++] = teacher;
+            }
+            sortByLoad(found);
+            ensureAdj(adjStart[u] + found);
+            System.arraycopy(candidates, 0, adj, adjStart[u], found);
+            adjStart[u + 1] = adjStart[u] + found;
+        }
+
+        match(count);
+
+        for (int u = 0; u < count; u++) {
+            int gene = left[u];
+            int teacher = matchLeft[u];
+            if (teacher == NIL)
+                teacher = fallbackTeacher(chromo, gene);
+            chromo.setTeacher(gene, teacher);
+            if (matchLeft[u] != NIL)
+                matchRight[matchLeft[u]] = NIL;
+        }
+    }
+
+    private boolean isOwned(int teacher) {
+        return teacherOwner[teacher] == stamp;
+    }
+
+    private int fallbackTeacher(TimetableChromosome chromo, int gene) {
+        int subject = chromo.getSubject(gene);
+        if (problem.getPinnedTeacher(subject) >= 0)
+            return problem.getPinnedTeacher(subject);
+        int[] department = problem.getDepartmentTeachers(subject);
+        return department.length > 0 ? department[0] : chromo.getTeacher(gene);
+    }
+
+    // Insertion sort: candidate lists are a department's teachers at most
+    private void sortByLoad(int count) {
+        for (int i = 1; i < count; i++) {
+            int teacher = candidates[i];
+            int j = i - 1;
+            while (j >= 0 && teacherDay[candidates[j]] > teacherDay[teacher]) {
+                candidates[j + 1] = candidates[j];
+                j--;
+            }
+            candidates[j + 1] = teacher;
+        }
+    }
+
+    private void match(int count) {
+        for (int u = 0; u < count; u++) {
+            matchLeft[u] = NIL;
+            for (int e = adjStart[u]; e < adjStart[u + 1]; e++) {
+                if (matchRight[adj[e]] == NIL) {
+                    matchLeft[u] = adj[e];
+                    matchRight[adj[e]] = u;
+                    break;
+                }
+            }
+        }
+
+        while (layer(count)) {
+            for (int u = 0; u < count; u++) {
+                if (matchLeft[u] == NIL)
+                    augment(u);
+            }
+        }
+    }
+
+    /**
+     * Breadth-first layering from the unmatched classes; true if some
+     * augmenting path exists.
+     */
+    private boolean layer(int count) {
+        int head = 0;
+        int tail = 0;
+        for (int u = 0; u < count; u++) {
+            if (matchLeft[u] == NIL) {
+                distance[u] = 0;
+                queue[tail++] = u;
+            } else {
+                distance[u] = Integer.MAX_VALUE;
+            }
+        }
+
+        boolean found = false;
+        while (head < tail) {
+            int u = queue[head++];
+            for (int e = adjStart[u]; e < adjStart[u + 1]; e++) {
+                int owner = matchRight[adj[e]];
+                if (owner == NIL) {
+                    found = true;
+                } else if (distance[owner] == Integer.MAX_VALUE) {
+                    distance[owner] = distance[u] + 1;
+                    queue[tail++] = owner;
+                }
+            }
+        }
+        return found;
+    }
+
+    private boolean augment(int u) {
+        for (int e = adjStart[u]; e < adjStart[u + 1]; e++) {
+            int teacher = adj[e];
+            int owner = matchRight[teacher];
+            if (owner == NIL || distance[owner] == distance[u] + 1 && augment(owner)) {
+                matchLeft[u] = teacher;
+                matchRight[teacher] = u;
+                return true;
+            }
+        }
+        distance[u] = Integer.MAX_VALUE;
+        return false;
+    }
+
+    private void assignClassrooms(TimetableChromosome chromo, int from, int to, int slot) {
+        int classrooms = problem.getClassroomCount();
+        int classroom = 0;
+        for (int i = from; i < to; i++) {
+            while (classroom < classrooms && ledger.isClassroomBooked(classroom, slot))
+                classroom++;
+            if (classroom < classrooms) {
+                chromo.setClassroom(order[i], classroom++);
+            } else if (problem.getFreeClassroom(slot) >= 0) {
+                chromo.setClassroom(order[i], problem.getFreeClassroom(slot));
+            }
+        }
+    }
+
+    private void ensureLeft(int count) {
+        if (left.length >= count)
+            return;
+        int capacity = Math.max(count, left.length * 2);
+        left = Arrays.copyOf(left, capacity);
+        adjStart = Arrays.copyOf(adjStart, capacity + 1);
+        matchLeft = Arrays.copyOf(matchLeft, capacity);
+        distance = Arrays.copyOf(distance, capacity);
+        queue = Arrays.copyOf(queue, capacity);
+    }
+
+    private void ensureAdj(int count) {
+        if (adj.length < count)
+            adj = Arrays.copyOf(adj, Math.max(count, adj.length * 2));
+    }
+}
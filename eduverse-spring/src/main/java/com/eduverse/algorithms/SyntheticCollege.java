@@ -0,0 +1,84 @@
+package com.eduverse.algorithms;
+
+import com.eduverse.models.Classroom;
+import com.eduverse.models.College;
+import com.eduverse.models.Department;
+import com.eduverse.models.Semester;
+import com.eduverse.models.Subject;
+import com.eduverse.models.TimeSlot;
+import com.eduverse.models.Timetable;
+import com.eduverse.models.TimetableEntry;
+import com.eduverse.models.User;
+import lombok.Getter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Entity graph produced by {@link SyntheticCollegeGenerator}. Ids are
+ * assigned by the generator and foreign keys are set as id columns, the same
+ * way the repositories return them, so the graph can be fed to the engine
+ * directly or persisted after remapping ids.
+ */
+@Getter
+public class SyntheticCollege {
+    private final College college;
+    private final Semester semester;
+    private final User admin;
+    private final List<Department> departments = new ArrayList<>();
+    private final List<User> teachers = new ArrayList<>();
+    private final List<Classroom> classrooms = new ArrayList<>();
+    // One shift per year, index 0 is year 1
+    private final List<TimeSlot> timeSlots = new ArrayList<>();
+    private final List<Subject> subjects = new ArrayList<>();
+    // Active timetables of the cohorts that are already scheduled
+    private final List<Timetable> timetables = new ArrayList<>();
+
+    SyntheticCollege(College college, Semester semester, User admin) {
+        this.college = college;
+        this.semester = semester;
+        this.admin = admin;
+    }
+
+    public List<Subject> getCohortSubjects(Integer departmentId, int year) {
+        return subjects.stream()
+                .filter(s -> s.getDepartmentId().equals(departmentId) && s.getYear() == year)
+                .collect(Collectors.toList());
+    }
+
+    public TimeSlot getShift(int year) {
+        return timeSlots.get(year - 1);
+    }
+
+    public List<TimetableEntry> getExistingEntries() {
+        return timetables.stream()
+                .flatMap(t -> t.getEntries().stream())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Every cohort of one year, scheduled jointly on that year's shift. Only
+     * the other years' timetables are kept as existing bookings.
+     */
+    public TimetableProblem yearProblem(int year) {
+        List<Subject> yearSubjects = subjects.stream()
+                .filter(s -> s.getYear() == year)
+                .collect(Collectors.toList());
+        List<TimetableEntry> otherYears = timetables.stream()
+                .filter(t -> t.getYear() != year)
+                .flatMap(t -> t.getEntries().stream())
+                .collect(Collectors.toList());
+        return new TimetableProblem(yearSubjects, teachers, classrooms, getShift(year), otherYears);
+    }
+
+    /**
+     * Engine for one cohort against the rest of the college, with the same
+     * inputs the generation service would load.
+     */
+    public GeneticAlgorithm geneticAlgorithm(Integer departmentId, int year, GeneticAlgorithmConfig config,
+            long seed, ForkJoinPool pool) {
+        return new GeneticAlgorithm(getCohortSubjects(departmentId, year), teachers, classrooms, getShift(year),
+                getExistingEntries(), config, seed, pool);
+    }
+}
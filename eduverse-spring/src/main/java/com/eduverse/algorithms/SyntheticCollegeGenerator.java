@@ -0,0 +1,240 @@
+package com.eduverse.algorithms;
+
+import com.eduverse.models.Classroom;
+import com.eduverse.models.College;
+import com.eduverse.models.Department;
+import com.eduverse.models.Semester;
+import com.eduverse.models.Subject;
+import com.eduverse.models.TimeSlot;
+import com.eduverse.models.Timetable;
+import com.eduverse.models.TimetableEntry;
+import com.eduverse.models.User;
+import lombok.Builder;
+import lombok.Getter;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Builds a seeded college at a chosen scale for benchmarks, stress tests and
+ * the synthetic data loader.
+ *
+ * Every department has one cohort per year with {@code subjectsPerCohort}
+ * subjects. Tightness is the share of a shift's {@code periods * 6} slots a
+ * cohort needs per week. The last {@code scheduledShare} of the cohorts get an
+ * active timetable, placed greedily without clashes, which becomes the
+ * existing bookings for the rest. Department 1, year 1 stays unscheduled
+ * whenever the share is below 1.
+ */
+@Getter
+@Builder
+public class SyntheticCollegeGenerator {
+    @Builder.Default
+    private long seed = 42;
+
+    @Builder.Default
+    private int departments = 12;
+
+    @Builder.Default
+    private int years = 4;
+
+    // 4 to 8, the range generation accepts
+    @Builder.Default
+    private int subjectsPerCohort = 8;
+
+    @Builder.Default
+    private int teachersPerDepartment = 20;
+
+    @Builder.Default
+    private int classrooms = 150;
+
+    // At most 6, the highest period a timetable entry may use
+    @Builder.Default
+    private int periods = 6;
+
+    @Builder.Default
+    private double tightness = 0.8;
+
+    @Builder.Default
+    private double scheduledShare = 0.75;
+
+    public SyntheticCollege generate() {
+        SplittableRandom random = new SplittableRandom(seed);
+        int days = TimetableProblem.DAYS.length;
+        int slots = periods * days;
+
+        College college = College.builder()
+                .id(1)
+                .collegeName("Synthetic College")
+                .collegeCode("SYN" + Math.abs(seed % 10000))
+                .isApproved(true)
+                .build();
+        Semester semester = Semester.builder()
+                .id(1)
+                .collegeId(college.getId())
+                .name("Synthetic Semester")
+                .code("SYN-1")
+                .startDate(LocalDate.now())
+                .endDate(LocalDate.now().plusMonths(6))
+                .build();
+        User admin = User.builder()
+                .id(1)
+                .collegeId(college.getId())
+                .fullName("Synthetic Admin")
+                .email("admin@synthetic.local")
+                .passwordHash("")
+                .roleId(1)
+                .isApproved(true)
+                .build();
+        SyntheticCollege result = new SyntheticCollege(college, semester, admin);
+
+        for (int year = 1; year <= years; year++) {
+            result.getTimeSlots().add(TimeSlot.builder()
+                    .id(year)
+                    .collegeId(college.getId())
+                    .year(year)
+                    .startTime(LocalTime.of(9, 0))
+                    .endTime(LocalTime.of(9, 0).plusMinutes(periods * 60L + (periods - 1) / 3 * 15L))
+                    .totalPeriods(periods)
+                    .build());
+        }
+
+        for (int c = 0; c < classrooms; c++) {
+            result.getClassrooms().add(Classroom.builder()
+                    .id(c + 1)
+                    .collegeId(college.getId())
+                    .roomNumber(String.valueOf(100 + c))
+                    .building("Block " + (char) ('A' + c % 4))
+                    .capacity(60)
+                    .build());
+        }
+
+        int userId = admin.getId();
+        int subjectId = 0;
+        for (int d = 1; d <= departments; d++) {
+            Department department = Department.builder()
+                    .id(d)
+                    .collegeId(college.getId())
+                    .name("Department " + d)
+                    .code("D" + d)
+                    .build();
+            result.getDepartments().add(department);
+
+            List<User> departmentTeachers = new ArrayList<>();
+            for (int t = 0; t < teachersPerDepartment; t++) {
+                userId++;
+                departmentTeachers.add(User.builder()
+                        .id(userId)
+                        .collegeId(college.getId())
+                        .departmentId(d)
+                        .fullName("Teacher " + d + "-" + (t + 1))
+                        .email("teacher" + d + "." + (t + 1) + "@synthetic.local")
+                        .passwordHash("")
+                        .roleId(3)
+                        .designation("Lecturer")
+                        .isApproved(true)
+                        .build());
+            }
+            result.getTeachers().addAll(departmentTeachers);
+
+            int classesPerCohort = Math.max(subjectsPerCohort, (int) Math.round(tightness * slots));
+            for (int year = 1; year <= years; year++) {
+                for (int s = 0; s < subjectsPerCohort; s++) {
+                    subjectId++;
+                    // Spread the cohort's classes evenly, the remainder going to the first subjects
+                    int classes = classesPerCohort / subjectsPerCohort
+                            + (s < classesPerCohort % subjectsPerCohort ? 1 : 0);
+                    User teacher = departmentTeachers.get((subjectId - 1) % departmentTeachers.size());
+                    result.getSubjects().add(Subject.builder()
+                            .id(subjectId)
+                            .collegeId(college.getId())
+                            .departmentId(d)
+                            .name("Subject " + d + "-" + year + "-" + (s + 1))
+                            .code("D" + d + "Y" + year + "S" + (s + 1))
+                            .credits(3)
+                            .year(year)
+                            .classesPerWeek(Math.min(10, classes))
+                            .teacherId(random.nextInt(4) == 0 ? null : teacher.getId())
+                            .build());
+                }
+            }
+        }
+
+        scheduleExistingTimetables(result, random);
+        return result;
+    }
+
+    private void scheduleExistingTimetables(SyntheticCollege result, SplittableRandom random) {
+        int slots = periods * TimetableProblem.DAYS.length;
+        int cohorts = departments * years;
+        int firstScheduled = (int) Math.round((1 - scheduledShare) * cohorts);
+
+        // Bookings per shift (one shift per year), indexed by teacher/classroom position and slot
+        int teacherCount = result.getTeachers().size();
+        boolean[][] teacherBusy = new boolean[years][teacherCount * slots];
+        boolean[][] classroomBusy = new boolean[years][classrooms * slots];
+        int firstTeacherId = result.getTeachers().isEmpty() ? 0 : result.getTeachers().get(0).getId();
+
+        int timetableId = 0;
+        int entryId = 0;
+        for (int cohort = firstScheduled; cohort < cohorts; cohort++) {
+            int departmentId = cohort / years + 1;
+            int year = cohort % years + 1;
+            TimeSlot shift = result.getShift(year);
+            boolean[] cohortBusy = new boolean[slots];
+
+            timetableId++;
+            Timetable timetable = Timetable.builder()
+                    .id(timetableId)
+                    .collegeId(result.getCollege().getId())
+                    .semesterId(result.getSemester().getId())
+                    .departmentId(departmentId)
+                    .year(year)
+                    .name("D" + departmentId + " - Year " + year + " - Synthetic")
+                    .generatedByUserId(result.getAdmin().getId())
+                    .status("Approved")
+                    .isActive(true)
+                    .build();
+
+            int firstDepartmentTeacher = (departmentId - 1) * teachersPerDepartment;
+            for (Subject subject : result.getCohortSubjects(departmentId, year)) {
+                for (int k = 0; k < subject.getClassesPerWeek(); k++) {
+                    for (int attempt = 0; attempt < 50; attempt++) {
+                        int slot = random.nextInt(slots);
+                        if (cohortBusy[slot])
+                            continue;
+
+                        int teacher = subject.getTeacherId() != null
+                                ? subject.getTeacherId() - firstTeacherId
+                                : firstDepartmentTeacher + random.nextInt(teachersPerDepartment);
+                        int classroom = random.nextInt(classrooms);
+                        if (teacherBusy[year - 1][teacher * slots + slot]
+                                || classroomBusy[year - 1][classroom * slots + slot])
+                            continue;
+
+                        cohortBusy[slot] = true;
+                        teacherBusy[year - 1][teacher * slots + slot] = true;
+                        classroomBusy[year - 1][classroom * slots + slot] = true;
+
+                        entryId++;
+                        timetable.getEntries().add(TimetableEntry.builder()
+                                .id(entryId)
+                                .timetable(timetable)
+                                .timetableId(timetable.getId())
+                                .subjectId(subject.getId())
+                                .teacherId(result.getTeachers().get(teacher).getId())
+                                .classroomId(result.getClassrooms().get(classroom).getId())
+                                .timeSlotId(shift.getId())
+                                .dayOfWeek(TimetableProblem.DAYS[slot / periods])
+                                .periodNumber(slot % periods + 1)
+                                .build());
+                        break;
+                    }
+                }
+            }
+            result.getTimetables().add(timetable);
+        }
+    }
+}
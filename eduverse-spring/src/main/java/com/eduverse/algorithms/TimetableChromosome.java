@@ -1,30 +1,120 @@
 package com.eduverse.algorithms;
 
-import com.eduverse.models.TimetableEntry;
-import lombok.Data;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.Setter;
+import java.util.Arrays;
 
-@Data
+/**
+ * Compact chromosome: one gene per scheduled class, stored column-wise in
+ * parallel primitive arrays. Subject, teacher and classroom values are indices
+ * into the owning {@link TimetableProblem}, days are indices into
+ * {@link TimetableProblem#DAYS} and periods are 1-based.
+ */
 public class TimetableChromosome {
-    private List<TimetableEntry> genes = new ArrayList<>();
+    private int size;
+    private int[] subjects;
+    private int[] teachers;
+    private int[] classrooms;
+    private byte[] days;
+    private byte[] periods;
+
+    @Getter
+    @Setter
     private double fitness;
+    @Getter
+    @Setter
     private int conflicts;
+    @Getter
+    @Setter
+    private boolean evaluated;
+
+    public TimetableChromosome(int capacity) {
+        this.subjects = new int[capacity];
+        this.teachers = new int[capacity];
+        this.classrooms = new int[capacity];
+        this.days = new byte[capacity];
+        this.periods = new byte[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int addGene(int subject, int teacher, int classroom, int day, int period) {
+        if (size == subjects.length) {
+            int capacity = Math.max(8, size * 2);
+            subjects = Arrays.copyOf(subjects, capacity);
+            teachers = Arrays.copyOf(teachers, capacity);
+            classrooms = Arrays.copyOf(classrooms, capacity);
+            days = Arrays.copyOf(days, capacity);
+            periods = Arrays.copyOf(periods, capacity);
+        }
+        subjects[size] = subject;
+        teachers[size] = teacher;
+        classrooms[size] = classroom;
+        days[size] = (byte) day;
+        periods[size] = (byte) period;
+        return size++;
+    }
+
+    public void copyGene(TimetableChromosome source, int gene) {
+        addGene(source.subjects[gene], source.teachers[gene], source.classrooms[gene], source.days[gene],
+                source.periods[gene]);
+    }
+
+    public int getSubject(int gene) {
+        return subjects[gene];
+    }
+
+    public int getTeacher(int gene) {
+        return teachers[gene];
+    }
+
+    public int getClassroom(int gene) {
+        return classrooms[gene];
+    }
+
+    public int getDay(int gene) {
+        return days[gene];
+    }
+
+    public int getPeriod(int gene) {
+        return periods[gene];
+    }
+
+    public void setTeacher(int gene, int teacher) {
+        teachers[gene] = teacher;
+    }
+
+    public void setClassroom(int gene, int classroom) {
+        classrooms[gene] = classroom;
+    }
+
+    public void setSlot(int gene, int day, int period) {
+        days[gene] = (byte) day;
+        periods[gene] = (byte) period;
+    }
+
+    public boolean sameGenes(TimetableChromosome other) {
+        return size == other.size
+                && Arrays.equals(subjects, 0, size, other.subjects, 0, size)
+                && Arrays.equals(teachers, 0, size, other.teachers, 0, size)
+                && Arrays.equals(classrooms, 0, size, other.classrooms, 0, size)
+                && Arrays.equals(days, 0, size, other.days, 0, size)
+                && Arrays.equals(periods, 0, size, other.periods, 0, size);
+    }
 
     public TimetableChromosome clone() {
-        TimetableChromosome copy = new TimetableChromosome();
-        copy.setGenes(this.genes.stream().map(g -> TimetableEntry.builder()
-                .subjectId(g.getSubjectId())
-                .teacherId(g.getTeacherId())
-                .classroomId(g.getClassroomId())
-                .timeSlotId(g.getTimeSlotId())
-                .periodNumber(g.getPeriodNumber())
-                .dayOfWeek(g.getDayOfWeek())
-                .timetableId(g.getTimetableId())
-                .build()).collect(Collectors.toList()));
-        copy.setFitness(this.fitness);
-        copy.setConflicts(this.conflicts);
+        TimetableChromosome copy = new TimetableChromosome(0);
+        copy.size = this.size;
+        copy.subjects = Arrays.copyOf(this.subjects, this.subjects.length);
+        copy.teachers = Arrays.copyOf(this.teachers, this.teachers.length);
+        copy.classrooms = Arrays.copyOf(this.classrooms, this.classrooms.length);
+        copy.days = Arrays.copyOf(this.days, this.days.length);
+        copy.periods = Arrays.copyOf(this.periods, this.periods.length);
+        copy.fitness = this.fitness;
+        copy.conflicts = this.conflicts;
+        copy.evaluated = this.evaluated;
         return copy;
     }
 }
@@ -0,0 +1,259 @@
+package com.eduverse.algorithms;
+
+import com.eduverse.models.Classroom;
+import com.eduverse.models.Subject;
+import com.eduverse.models.TimeSlot;
+import com.eduverse.models.BookedSlot;
+import com.eduverse.models.User;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Index-based view of one generation request. Chromosomes refer to subjects,
+ * teachers and classrooms by their position in these tables, and ids are only
+ * looked up again when the result is turned back into entities.
+ *
+ * The subjects may span several cohorts (department and year) on the same
+ * shift, which are then scheduled jointly: each cohort attends one class at a
+ * time, while teachers and classrooms are shared by all of them.
+ *
+ * The tables are ordered by id, so the same data yields the same indices (and
+ * a seeded run the same timetable) whatever order the repositories return.
+ */
+public class TimetableProblem {
+    public static final String[] DAYS = { "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday" };
+
+    private final List<Subject> subjects;
+    private final List<User> teachers;
+    private final List<Classroom> classrooms;
+    private final TimeSlot shift;
+    private final BookingLedger ledger;
+
+    private final int periods;
+    private final int totalClasses;
+    private final int[] subjectIds;
+    private final int[] teacherIds;
+    private final int[] classroomIds;
+    private final int[] classesPerWeek;
+    private final int[] pinnedTeacher;
+    private final int[] cohortOf;
+    private final int[] cohortDepartmentIds;
+    private final int[] cohortYears;
+    private final int[][] departmentTeachers;
+    private final long[][] usableSlots;
+    private final int[] freeClassroom;
+
+    public TimetableProblem(
+            List<Subject> subjects,
+            List<User> teachers,
+            List<Classroom> classrooms,
+            TimeSlot shift,
+            List<? extends BookedSlot> existingEntries) {
+        this.subjects = sortedById(subjects, Subject::getId);
+        this.teachers = sortedById(teachers, User::getId);
+        this.classrooms = sortedById(classrooms, Classroom::getId);
+        this.shift = shift;
+        this.periods = shift.getTotalPeriods();
+
+        Map<Integer, Integer> teacherIndex = new HashMap<>();
+        this.teacherIds = new int[this.teachers.size()];
+        for (int t = 0; t < teacherIds.length; t++) {
+            teacherIds[t] = this.teachers.get(t).getId();
+            teacherIndex.put(teacherIds[t], t);
+        }
+
+        Map<Integer, Integer> classroomIndex = new HashMap<>();
+        this.classroomIds = new int[this.classrooms.size()];
+        for (int c = 0; c < classroomIds.length; c++) {
+            classroomIds[c] = this.classrooms.get(c).getId();
+            classroomIndex.put(classroomIds[c], c);
+        }
+
+        this.ledger = new BookingLedger(existingEntries, shift.getId(), periods, teacherIndex, classroomIndex);
+
+        this.subjectIds = new int[this.subjects.size()];
+        this.classesPerWeek = new int[this.subjects.size()];
+        this.pinnedTeacher = new int[this.subjects.size()];
+        this.departmentTeachers = new int[this.subjects.size()][];
+        int classes = 0;
+        for (int s = 0; s < subjectIds.length; s++) {
+            Subject subject = this.subjects.get(s);
+            subjectIds[s] = subject.getId();
+            classesPerWeek[s] = subject.getClassesPerWeek();
+            classes += subject.getClassesPerWeek();
+            pinnedTeacher[s] = subject.getTeacherId() != null
+                    ? teacherIndex.getOrDefault(subject.getTeacherId(), -1)
+                    : -1;
+
+            List<Integer> candidates = new ArrayList<>();
+            for (int t = 0; t < teacherIds.length; t++) {
+                User teacher = this.teachers.get(t);
+                if (teacher.getDepartmentId() != null && teacher.getDepartmentId().equals(subject.getDepartmentId())) {
+                    candidates.add(t);
+                }
+            }
+            departmentTeachers[s] = candidates.stream().mapToInt(Integer::intValue).toArray();
+        }
+        this.totalClasses = classes;
+
+        // Cohorts in (department, year) order; subjects are sorted by id, so this is stable too
+        long[] cohortKeys = this.subjects.stream()
+                .mapToLong(s -> ((long) s.getDepartmentId() << 32) | s.getYear())
+                .distinct().sorted().toArray();
+        this.cohortDepartmentIds = new int[cohortKeys.length];
+        this.cohortYears = new int[cohortKeys.length];
+        for (int c = 0; c < cohortKeys.length; c++) {
+            cohortDepartmentIds[c] = (int) (cohortKeys[c] >>> 32);
+            cohortYears[c] = (int) cohortKeys[c];
+        }
+        this.cohortOf = new int[this.subjects.size()];
+        for (int s = 0; s < cohortOf.length; s++) {
+            Subject subject = this.subjects.get(s);
+            cohortOf[s] = Arrays.binarySearch(cohortKeys,
+                    ((long) subject.getDepartmentId() << 32) | subject.getYear());
+        }
+
+        int slots = getSlotCount();
+        this.usableSlots = new long[this.subjects.size()][(slots + 63) >>> 6];
+        this.freeClassroom = new int[slots];
+        for (int slot = 0; slot < slots; slot++) {
+            freeClassroom[slot] = -1;
+            for (int c = 0; c < classroomIds.length && freeClassroom[slot] < 0; c++) {
+                if (!ledger.isClassroomBooked(c, slot))
+                    freeClassroom[slot] = c;
+            }
+            if (freeClassroom[slot] < 0)
+                continue;
+
+            for (int s = 0; s < subjectIds.length; s++) {
+                boolean teacherFree = pinnedTeacher[s] >= 0 && !ledger.isTeacherBooked(pinnedTeacher[s], slot);
+                for (int teacher : departmentTeachers[s]) {
+                    if (teacherFree)
+                        break;
+                    teacherFree = !ledger.isTeacherBooked(teacher, slot);
+                }
+                if (teacherFree)
+                    usableSlots[s][slot >>> 6] |= 1L << slot;
+            }
+        }
+    }
+
+    private static <T> List<T> sortedById(List<T> items, Function<T, Integer> id) {
+        List<T> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparing(id));
+        return sorted;
+    }
+
+    public List<Subject> getSubjects() {
+        return subjects;
+    }
+
+    public List<User> getTeachers() {
+        return teachers;
+    }
+
+    public List<Classroom> getClassrooms() {
+        return classrooms;
+    }
+
+    public TimeSlot getShift() {
+        return shift;
+    }
+
+    public BookingLedger getLedger() {
+        return ledger;
+    }
+
+    public int getDayCount() {
+        return DAYS.length;
+    }
+
+    public int getPeriods() {
+        return periods;
+    }
+
+    public int getSlotCount() {
+        return DAYS.length * periods;
+    }
+
+    public int slotOf(int day, int period) {
+        return day * periods + period - 1;
+    }
+
+    public int getSubjectCount() {
+        return subjectIds.length;
+    }
+
+    public int getTeacherCount() {
+        return teacherIds.length;
+    }
+
+    public int getClassroomCount() {
+        return classroomIds.length;
+    }
+
+    public int getCohortCount() {
+        return cohortYears.length;
+    }
+
+    public int getCohort(int subject) {
+        return cohortOf[subject];
+    }
+
+    public int getCohortDepartmentId(int cohort) {
+        return cohortDepartmentIds[cohort];
+    }
+
+    public int getCohortYear(int cohort) {
+        return cohortYears[cohort];
+    }
+
+    public int getTotalClasses() {
+        return totalClasses;
+    }
+
+    public int getSubjectId(int subject) {
+        return subjectIds[subject];
+    }
+
+    public int getTeacherId(int teacher) {
+        return teacherIds[teacher];
+    }
+
+    public int getClassroomId(int classroom) {
+        return classroomIds[classroom];
+    }
+
+    public int getClassesPerWeek(int subject) {
+        return classesPerWeek[subject];
+    }
+
+    public int getPinnedTeacher(int subject) {
+        return pinnedTeacher[subject];
+    }
+
+    public int[] getDepartmentTeachers(int subject) {
+        return departmentTeachers[subject];
+    }
+
+    /**
+     * Slots where the subject could be taught without clashing with the
+     * booking ledger: its pinned teacher or a department teacher is free, and
+     * so is some classroom. Slot {@code i} is bit {@code i}.
+     */
+    public long[] getUsableSlots(int subject) {
+        return usableSlots[subject];
+    }
+
+    /**
+     * Lowest classroom index the ledger leaves free in the slot, or -1.
+     */
+    public int getFreeClassroom(int slot) {
+        return freeClassroom[slot];
+    }
+}
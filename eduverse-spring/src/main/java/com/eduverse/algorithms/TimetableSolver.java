@@ -0,0 +1,73 @@
+package com.eduverse.algorithms;
+
+import com.eduverse.enums.SolverEngine;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
+
+/**
+ * One run of a scheduling engine over a {@link TimetableProblem}. A solver is
+ * built per run and is not reused; the problem itself is read-only and may be
+ * shared by any number of solvers at once.
+ */
+public interface TimetableSolver {
+
+    TimetableProblem getProblem();
+
+    long getSeed();
+
+    void setListener(GenerationListener listener);
+
+    /**
+     * Polled while the solver runs; once it returns true the run stops and
+     * returns the best chromosome found so far.
+     */
+    void setCancellation(BooleanSupplier cancellation);
+
+    TimetableChromosome run();
+
+    /**
+     * True when the last run proved that no better timetable exists.
+     */
+    default boolean isProvenOptimal() {
+        return false;
+    }
+
+    /**
+     * What the last run established about its result, for the response
+     * message; null when there is nothing to add.
+     */
+    default String getVerdict() {
+        return null;
+    }
+
+    /**
+     * Builds a solver for the engine. A GENETIC or PORTFOLIO run over a
+     * single cohort smaller than {@code exactSizeLimit} (classes times slots)
+     * goes to the exact engine instead, which settles such problems outright.
+     */
+    static TimetableSolver create(SolverEngine engine, TimetableProblem problem, GeneticAlgorithmConfig config,
+            long seed, ForkJoinPool pool) {
+        if ((engine == SolverEngine.GENETIC || engine == SolverEngine.PORTFOLIO) && problem.getCohortCount() == 1
+                && (long) problem.getTotalClasses() * problem.getSlotCount() < config.getExactSizeLimit())
+            engine = SolverEngine.EXACT;
+
+        switch (engine) {
+            case GREEDY:
+                return new GreedyRepairSolver(problem, config, seed, pool);
+            case EXACT:
+                return new ExactSolver(problem, config, seed);
+            case PORTFOLIO:
+                // The exact search only covers single cohorts
+                if (problem.getCohortCount() > 1)
+                    return new PortfolioSolver(problem, config, seed, pool,
+                            new GeneticAlgorithm(problem, config, seed, pool),
+                            new GreedyRepairSolver(problem, config, seed, pool));
+                return new PortfolioSolver(problem, config, seed, pool,
+                        new GeneticAlgorithm(problem, config, seed, pool),
+                        new GreedyRepairSolver(problem, config, seed, pool),
+                        new ExactSolver(problem, config, seed));
+            default:
+                return new GeneticAlgorithm(problem, config, seed, pool);
+        }
+    }
+}
@@ -9,12 +9,14 @@ import com.eduverse.repositories.RoleRepository;
 import com.eduverse.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 
 @Component
+@Order(0)
 public class DataInitializer implements CommandLineRunner {
 
     @Autowired
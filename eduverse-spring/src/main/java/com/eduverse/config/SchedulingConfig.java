@@ -0,0 +1,57 @@
+package com.eduverse.config;
+
+import com.eduverse.algorithms.GeneticAlgorithmConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class SchedulingConfig {
+
+    @Value("${timetable.executor.pool-size:4}")
+    private int poolSize;
+
+    @Value("${timetable.executor.queue-capacity:50}")
+    private int queueCapacity;
+
+    @Value("${timetable.jobs.pool-size:2}")
+    private int jobPoolSize;
+
+    @Value("${timetable.jobs.queue-capacity:20}")
+    private int jobQueueCapacity;
+
+    // Defaults for every GA run, bound from timetable.ga.*; requests may override single values
+    @Bean
+    @ConfigurationProperties(prefix = "timetable.ga")
+    public GeneticAlgorithmConfig geneticAlgorithmConfig() {
+        return new GeneticAlgorithmConfig();
+    }
+
+    // Runs independent GA solutions side by side; each run still fans its own
+    // population work out over the common fork-join pool
+    @Bean(name = "timetableExecutor")
+    public ThreadPoolTaskExecutor timetableExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("timetable-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Background generation jobs, kept apart from the request-handling threads
+    // and from the pool their GA runs are submitted to
+    @Bean(name = "timetableJobExecutor")
+    public ThreadPoolTaskExecutor timetableJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(jobPoolSize);
+        executor.setMaxPoolSize(jobPoolSize);
+        executor.setQueueCapacity(jobQueueCapacity);
+        executor.setThreadNamePrefix("timetable-job-");
+        executor.initialize();
+        return executor;
+    }
+}
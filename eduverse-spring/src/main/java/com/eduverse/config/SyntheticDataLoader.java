@@ -0,0 +1,197 @@
+package com.eduverse.config;
+
+import com.eduverse.algorithms.SyntheticCollege;
+import com.eduverse.algorithms.SyntheticCollegeGenerator;
+import com.eduverse.models.*;
+import com.eduverse.repositories.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk-loads a generated college when the "synthetic" profile is active, e.g.
+ * {@code ./mvnw spring-boot:run -Dspring-boot.run.profiles=synthetic}. The
+ * generator assigns its own ids, so every foreign key is remapped to the id
+ * the database hands out.
+ */
+@Component
+@Profile("synthetic")
+@Order(1)
+@lombok.extern.slf4j.Slf4j
+public class SyntheticDataLoader implements CommandLineRunner {
+
+    @Autowired
+    private CollegeRepository collegeRepository;
+    @Autowired
+    private SemesterRepository semesterRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ClassroomRepository classroomRepository;
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+    @Autowired
+    private SubjectRepository subjectRepository;
+    @Autowired
+    private TimetableRepository timetableRepository;
+    @Autowired
+    private TimetableEntryRepository timetableEntryRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ApplicationContext context;
+
+    @Value("${synthetic.seed:42}")
+    private long seed;
+    @Value("${synthetic.departments:12}")
+    private int departments;
+    @Value("${synthetic.years:4}")
+    private int years;
+    @Value("${synthetic.subjects-per-cohort:8}")
+    private int subjectsPerCohort;
+    @Value("${synthetic.teachers-per-department:20}")
+    private int teachersPerDepartment;
+    @Value("${synthetic.classrooms:150}")
+    private int classrooms;
+    @Value("${synthetic.tightness:0.8}")
+    private double tightness;
+    @Value("${synthetic.scheduled-share:0.75}")
+    private double scheduledShare;
+    @Value("${synthetic.password:Synthetic@123}")
+    private String password;
+    @Value("${synthetic.exit-after-load:false}")
+    private boolean exitAfterLoad;
+
+    @Override
+    public void run(String... args) throws Exception {
+        SyntheticCollege data = SyntheticCollegeGenerator.builder()
+                .seed(seed)
+                .departments(departments)
+                .years(years)
+                .subjectsPerCohort(subjectsPerCohort)
+                .teachersPerDepartment(teachersPerDepartment)
+                .classrooms(classrooms)
+                .tightness(tightness)
+                .scheduledShare(scheduledShare)
+                .build()
+                .generate();
+
+        if (collegeRepository.findByCollegeCode(data.getCollege().getCollegeCode()).isPresent()) {
+            log.info("Synthetic college {} already loaded", data.getCollege().getCollegeCode());
+        } else {
+            transactionTemplate.executeWithoutResult(status -> load(data));
+        }
+
+        if (exitAfterLoad) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    private void load(SyntheticCollege data) {
+        long start = System.currentTimeMillis();
+
+        College college = data.getCollege();
+        college.setId(null);
+        Integer collegeId = collegeRepository.save(college).getId();
+
+        Semester semester = data.getSemester();
+        semester.setId(null);
+        semester.setCollegeId(collegeId);
+        Integer semesterId = semesterRepository.save(semester).getId();
+
+        Map<Integer, Integer> departmentIds = new HashMap<>();
+        for (Department department : data.getDepartments()) {
+            Integer oldId = department.getId();
+            department.setId(null);
+            department.setCollegeId(collegeId);
+            departmentIds.put(oldId, departmentRepository.save(department).getId());
+        }
+
+        String passwordHash = passwordEncoder.encode(password);
+        List<User> users = new ArrayList<>();
+        users.add(data.getAdmin());
+        users.addAll(data.getTeachers());
+        Map<Integer, Integer> userIds = new HashMap<>();
+        for (User user : users) {
+            Integer oldId = user.getId();
+            user.setId(null);
+            user.setCollegeId(collegeId);
+            user.setDepartmentId(user.getDepartmentId() != null ? departmentIds.get(user.getDepartmentId()) : null);
+            user.setPasswordHash(passwordHash);
+            user.setEmailVerified(true);
+            userIds.put(oldId, userRepository.save(user).getId());
+        }
+
+        Map<Integer, Integer> classroomIds = new HashMap<>();
+        for (Classroom classroom : data.getClassrooms()) {
+            Integer oldId = classroom.getId();
+            classroom.setId(null);
+            classroom.setCollegeId(collegeId);
+            classroomIds.put(oldId, classroomRepository.save(classroom).getId());
+        }
+
+        Map<Integer, Integer> timeSlotIds = new HashMap<>();
+        for (TimeSlot timeSlot : data.getTimeSlots()) {
+            Integer oldId = timeSlot.getId();
+            timeSlot.setId(null);
+            timeSlot.setCollegeId(collegeId);
+            timeSlotIds.put(oldId, timeSlotRepository.save(timeSlot).getId());
+        }
+
+        Map<Integer, Integer> subjectIds = new HashMap<>();
+        for (Subject subject : data.getSubjects()) {
+            Integer oldId = subject.getId();
+            subject.setId(null);
+            subject.setCollegeId(collegeId);
+            subject.setDepartmentId(departmentIds.get(subject.getDepartmentId()));
+            subject.setTeacherId(subject.getTeacherId() != null ? userIds.get(subject.getTeacherId()) : null);
+            subjectIds.put(oldId, subjectRepository.save(subject).getId());
+        }
+
+        int entryCount = 0;
+        for (Timetable timetable : data.getTimetables()) {
+            List<TimetableEntry> entries = new ArrayList<>(timetable.getEntries());
+            timetable.getEntries().clear();
+            timetable.setId(null);
+            timetable.setCollegeId(collegeId);
+            timetable.setSemesterId(semesterId);
+            timetable.setDepartmentId(departmentIds.get(timetable.getDepartmentId()));
+            timetable.setGeneratedByUserId(userIds.get(timetable.getGeneratedByUserId()));
+            Integer timetableId = timetableRepository.save(timetable).getId();
+
+            for (TimetableEntry entry : entries) {
+                entry.setId(null);
+                entry.setTimetable(null);
+                entry.setTimetableId(timetableId);
+                entry.setSubjectId(subjectIds.get(entry.getSubjectId()));
+                entry.setTeacherId(userIds.get(entry.getTeacherId()));
+                entry.setClassroomId(classroomIds.get(entry.getClassroomId()));
+                entry.setTimeSlotId(timeSlotIds.get(entry.getTimeSlotId()));
+            }
+            timetableEntryRepository.insertAll(entries);
+            entryCount += entries.size();
+        }
+
+        log.info("Loaded synthetic college {} in {} ms: {} departments, {} teachers, {} classrooms, {} subjects, "
+                + "{} active timetables with {} entries",
+                college.getCollegeCode(), System.currentTimeMillis() - start, data.getDepartments().size(),
+                data.getTeachers().size(), data.getClassrooms().size(), data.getSubjects().size(),
+                data.getTimetables().size(), entryCount);
+    }
+}
@@ -1,11 +1,16 @@
 package com.eduverse.controllers;
 
 import com.eduverse.dtos.*;
+import com.eduverse.services.ITimetableCacheService;
 import com.eduverse.services.ITimetableGenerationService;
+import com.eduverse.services.ITimetableJobService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -17,10 +22,16 @@ public class TimetableController extends BaseController {
     @Autowired
     private ITimetableGenerationService timetableService;
 
+    @Autowired
+    private ITimetableJobService jobService;
+
+    @Autowired
+    private ITimetableCacheService timetableCache;
+
     @GetMapping
-    public ResponseEntity<?> getAll() {
-        List<TimetableDto> timetables = timetableService.getAllTimetables(getCurrentCollegeId(), getCurrentUserId(),
-                getCurrentRole());
+    public ResponseEntity<?> getAll(TimetableFilter filter) {
+        List<TimetableSummaryDto> timetables = timetableService.getTimetables(filter, getCurrentCollegeId(),
+                getCurrentUserId(), getCurrentRole());
         return ResponseEntity.ok(new DataResponse<>(timetables));
     }
 
@@ -40,6 +51,41 @@ public class TimetableController extends BaseController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping(value = "/generate/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> generateStream(@RequestBody TimetableGenerationRequest request) {
+        SseEmitter emitter = jobService.stream(request, getCurrentUserId());
+        if (emitter == null)
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(new MessageResponse("Too many generation jobs queued, please try again later"));
+        return ResponseEntity.ok(emitter);
+    }
+
+    @PostMapping("/jobs")
+    public ResponseEntity<?> submitJob(@RequestBody TimetableGenerationRequest request) {
+        TimetableJobStatus status = jobService.submit(request, getCurrentUserId());
+        if (status == null)
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new MessageResponse("Too many generation jobs queued, please try again later"));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(new DataResponse<>(status));
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<?> getJob(@PathVariable String jobId) {
+        TimetableJobStatus status = jobService.getStatus(jobId, getCurrentUserId());
+        if (status == null)
+            return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(new DataResponse<>(status));
+    }
+
+    @PostMapping("/jobs/{jobId}/cancel")
+    public ResponseEntity<?> cancelJob(@PathVariable String jobId) {
+        boolean success = jobService.cancel(jobId, getCurrentUserId());
+        if (!success)
+            return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(new MessageResponse("Cancellation requested"));
+    }
+
     @PostMapping("/approve")
     @PreAuthorize("hasRole('HOD')")
     public ResponseEntity<?> approve(@RequestBody TimetableApprovalRequest request) {
@@ -50,12 +96,19 @@ public class TimetableController extends BaseController {
     }
 
     @GetMapping("/semester/{semesterId}")
-    public ResponseEntity<?> getBySemester(@PathVariable Integer semesterId) {
-        List<TimetableDto> timetables = timetableService.getTimetablesBySemester(semesterId, getCurrentCollegeId(),
+    public ResponseEntity<?> getBySemester(@PathVariable Integer semesterId, TimetableFilter filter) {
+        filter.setSemesterId(semesterId);
+        List<TimetableSummaryDto> timetables = timetableService.getTimetables(filter, getCurrentCollegeId(),
                 getCurrentUserId(), getCurrentRole());
         return ResponseEntity.ok(new DataResponse<>(timetables));
     }
 
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getCacheStats() {
+        return ResponseEntity.ok(new DataResponse<>(timetableCache.getStats()));
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> delete(@PathVariable Integer id) {
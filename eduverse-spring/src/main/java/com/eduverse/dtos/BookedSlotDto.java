@@ -0,0 +1,17 @@
+package com.eduverse.dtos;
+
+import com.eduverse.models.BookedSlot;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookedSlotDto implements BookedSlot {
+    private Integer teacherId;
+    private Integer classroomId;
+    private Integer timeSlotId;
+    private String dayOfWeek;
+    private int periodNumber;
+}
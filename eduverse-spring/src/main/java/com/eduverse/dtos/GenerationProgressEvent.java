@@ -0,0 +1,14 @@
+package com.eduverse.dtos;
+
+import lombok.Data;
+
+@Data
+public class GenerationProgressEvent {
+    private String jobId;
+    private int solution;
+    private int generation;
+    private double bestFitness;
+    private int conflicts;
+    private double diversity;
+    private long elapsedMs;
+}
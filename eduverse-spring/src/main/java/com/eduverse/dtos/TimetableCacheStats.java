@@ -0,0 +1,15 @@
+package com.eduverse.dtos;
+
+import lombok.Data;
+
+@Data
+public class TimetableCacheStats {
+    private long hits;
+    private long misses;
+    private double hitRate;
+    private long evictions;
+    private long invalidations;
+    private int size;
+    private long weight;
+    private long maxWeight;
+}
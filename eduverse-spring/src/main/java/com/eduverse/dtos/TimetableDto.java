@@ -18,5 +18,6 @@ public class TimetableDto {
     private String generatedBy;
     private String status;
     private Double optimizationScore;
+    private Long generationSeed;
     private List<TimetableEntryDto> entries = new ArrayList<>();
 }
@@ -0,0 +1,21 @@
+package com.eduverse.dtos;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+import java.time.LocalDateTime;
+
+// Query parameters of the timetable listings; unset fields don't filter
+@Data
+public class TimetableFilter {
+    private Integer semesterId;
+    private Integer departmentId;
+    private Integer year;
+    private String status;
+
+    // Keyset cursor: the generatedDate and id of the last row already shown. Rows come newest first.
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime beforeDate;
+    private Integer beforeId;
+    // Page size; all matching rows when unset
+    private Integer limit;
+}
@@ -1,5 +1,6 @@
 package com.eduverse.dtos;
 
+import com.eduverse.enums.SolverEngine;
 import lombok.Data;
 import java.util.ArrayList;
 import java.util.List;
@@ -13,4 +14,20 @@ public class TimetableGenerationRequest {
     private int maxClassesPerDay = 6;
     private boolean includeWeekends = false;
     private int numberOfSolutions = 3;
+    // Replays earlier runs when set; solution n uses seed + n - 1
+    private Long seed;
+    // Schedules every department and year of the semester's college together; departmentId and year are ignored
+    private boolean collegeWide = false;
+
+    // Optional engine and GA overrides; null keeps the configured default
+    private SolverEngine engine;
+    private Boolean decomposed;
+    private Integer populationSize;
+    private Integer maxGenerations;
+    private Double mutationRate;
+    private Double crossoverRate;
+    private Integer eliteCount;
+    private Integer tournamentSize;
+    private Long timeBudgetMs;
+    private Double targetFitness;
 }
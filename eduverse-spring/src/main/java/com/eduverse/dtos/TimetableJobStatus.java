@@ -0,0 +1,17 @@
+package com.eduverse.dtos;
+
+import com.eduverse.enums.GenerationJobState;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+public class TimetableJobStatus {
+    private String jobId;
+    private GenerationJobState state;
+    private int generation;
+    private Double bestFitness;
+    private Integer conflicts;
+    private LocalDateTime submittedAt;
+    private LocalDateTime finishedAt;
+    private TimetableGenerationResponse result;
+}
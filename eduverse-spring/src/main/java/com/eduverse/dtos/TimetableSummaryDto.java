@@ -0,0 +1,24 @@
+package com.eduverse.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+// A timetable list row, without entries
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimetableSummaryDto {
+    private Integer id;
+    private String name;
+    private String semesterName;
+    private int year;
+    private Integer semesterId;
+    private Integer departmentId;
+    private LocalDateTime generatedDate;
+    private String generatedBy;
+    private String status;
+    private Double optimizationScore;
+    private Long generationSeed;
+}
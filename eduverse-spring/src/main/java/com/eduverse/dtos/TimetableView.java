@@ -0,0 +1,15 @@
+package com.eduverse.dtos;
+
+import com.eduverse.enums.TimetableSource;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.Map;
+import java.util.Set;
+
+// An assembled timetable and the ids of every record it was assembled from
+@Data
+@AllArgsConstructor
+public class TimetableView {
+    private TimetableDto timetable;
+    private Map<TimetableSource, Set<Integer>> sources;
+}
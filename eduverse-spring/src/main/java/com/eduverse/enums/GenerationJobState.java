@@ -0,0 +1,9 @@
+package com.eduverse.enums;
+
+public enum GenerationJobState {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    CANCELLED,
+    FAILED
+}
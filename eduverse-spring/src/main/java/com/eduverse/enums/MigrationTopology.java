@@ -0,0 +1,6 @@
+package com.eduverse.enums;
+
+public enum MigrationTopology {
+    RING,
+    FULLY_CONNECTED
+}
@@ -0,0 +1,8 @@
+package com.eduverse.enums;
+
+public enum SolverEngine {
+    GENETIC,
+    GREEDY,
+    EXACT,
+    PORTFOLIO
+}
@@ -0,0 +1,11 @@
+package com.eduverse.enums;
+
+// Records a timetable view is assembled from
+public enum TimetableSource {
+    TIMETABLE,
+    SEMESTER,
+    SUBJECT,
+    USER,
+    CLASSROOM,
+    TIME_SLOT
+}
@@ -0,0 +1,13 @@
+package com.eduverse.events;
+
+import com.eduverse.enums.TimetableSource;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Published after a record that timetable views show is changed or deleted
+@Data
+@AllArgsConstructor
+public class TimetableSourceChangedEvent {
+    private TimetableSource source;
+    private Integer id;
+}
@@ -0,0 +1,17 @@
+package com.eduverse.models;
+
+/**
+ * The teacher, classroom and slot an existing timetable entry occupies; all a
+ * new timetable needs to know about the timetables already in place.
+ */
+public interface BookedSlot {
+    Integer getTeacherId();
+
+    Integer getClassroomId();
+
+    Integer getTimeSlotId();
+
+    String getDayOfWeek();
+
+    int getPeriodNumber();
+}
@@ -8,7 +8,9 @@ import java.util.List;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
-@Table(name = "Timetables")
+@Table(name = "Timetables", indexes = {
+        @Index(name = "idx_timetables_college_active", columnList = "college_id, is_active"),
+        @Index(name = "idx_timetables_college_generated", columnList = "college_id, generated_date, id") })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -75,6 +77,9 @@ public class Timetable {
 
     private Double optimizationScore;
 
+    // Seed of the GA run that produced this timetable
+    private Long generationSeed;
+
     @Builder.Default
     private boolean isActive = false;
 
@@ -6,12 +6,12 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "TimetableEntries")
+@Table(name = "TimetableEntries", indexes = @Index(name = "idx_entries_timetable_slot", columnList = "timetable_id, time_slot_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class TimetableEntry {
+public class TimetableEntry implements BookedSlot {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
@@ -0,0 +1,13 @@
+package com.eduverse.repositories;
+
+import com.eduverse.models.TimetableEntry;
+import java.util.List;
+
+public interface TimetableEntryBulkRepository {
+    /**
+     * Inserts the entries with multi-row INSERT statements, a few hundred
+     * rows per round trip. Generated ids are not read back, and the entries
+     * are not attached to the persistence context.
+     */
+    void insertAll(List<TimetableEntry> entries);
+}
@@ -0,0 +1,74 @@
+package com.eduverse.repositories;
+
+import com.eduverse.models.TimetableEntry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class TimetableEntryBulkRepositoryImpl implements TimetableEntryBulkRepository {
+    // IDENTITY ids keep Hibernate from batching, so generated timetables are written through JDBC
+    private static final int ROWS_PER_STATEMENT = 500;
+    private static final String[] PROPERTIES = { "timetableId", "subjectId", "teacherId", "classroomId",
+            "timeSlotId", "periodNumber", "dayOfWeek" };
+    private static final String ROW = Stream.of(PROPERTIES).map(p -> "?")
+            .collect(Collectors.joining(", ", "(", ")"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private Validator validator;
+
+    private String insert;
+
+    @Override
+    public void insertAll(List<TimetableEntry> entries) {
+        // JPA would validate on persist, so the JDBC path does it up front for the whole batch
+        Set<ConstraintViolation<TimetableEntry>> violations = new HashSet<>();
+        for (TimetableEntry entry : entries) {
+            violations.addAll(validator.validate(entry));
+        }
+        if (!violations.isEmpty())
+            throw new ConstraintViolationException(violations);
+
+        for (int from = 0; from < entries.size(); from += ROWS_PER_STATEMENT) {
+            List<TimetableEntry> chunk = entries.subList(from, Math.min(from + ROWS_PER_STATEMENT, entries.size()));
+            Object[] args = new Object[chunk.size() * PROPERTIES.length];
+            int i = 0;
+            for (TimetableEntry entry : chunk) {
+                args[i++] = entry.getTimetableId();
+                args[i++] = entry.getSubjectId();
+                args[i++] = entry.getTeacherId();
+                args[i++] = entry.getClassroomId();
+                args[i++] = entry.getTimeSlotId();
+                args[i++] = entry.getPeriodNumber();
+                args[i++] = entry.getDayOfWeek();
+            }
+            jdbcTemplate.update(insert() + String.join(", ", Collections.nCopies(chunk.size(), ROW)), args);
+        }
+    }
+
+    // Table and column names as Hibernate mapped them, so naming strategies and @Table/@Column stay in charge
+    private String insert() {
+        if (insert == null) {
+            AbstractEntityPersister persister = (AbstractEntityPersister) entityManagerFactory
+                    .unwrap(SessionFactoryImplementor.class).getMappingMetamodel()
+                    .getEntityDescriptor(TimetableEntry.class);
+            insert = Stream.of(PROPERTIES).map(p -> persister.getPropertyColumnNames(p)[0])
+                    .collect(Collectors.joining(", ", "INSERT INTO " + persister.getTableName() + " (", ") VALUES "));
+        }
+        return insert;
+    }
+}
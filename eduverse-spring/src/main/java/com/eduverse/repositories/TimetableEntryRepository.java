@@ -1,11 +1,37 @@
 package com.eduverse.repositories;
 
+import com.eduverse.dtos.BookedSlotDto;
 import com.eduverse.models.TimetableEntry;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface TimetableEntryRepository extends JpaRepository<TimetableEntry, Integer> {
+public interface TimetableEntryRepository
+        extends JpaRepository<TimetableEntry, Integer>, TimetableEntryBulkRepository {
     List<TimetableEntry> findByTimetableId(Integer timetableId);
+
+    // Everything a timetable view shows, in one statement
+    @Query("SELECT e FROM TimetableEntry e JOIN FETCH e.subject JOIN FETCH e.teacher JOIN FETCH e.classroom "
+            + "JOIN FETCH e.timeSlot WHERE e.timetableId = :timetableId")
+    List<TimetableEntry> findDetailedByTimetableId(@Param("timetableId") Integer timetableId);
+
+    // Slots already booked in a shift by the college's active timetables
+    @Query("SELECT new com.eduverse.dtos.BookedSlotDto(e.teacherId, e.classroomId, e.timeSlotId, e.dayOfWeek, e.periodNumber) "
+            + "FROM TimetableEntry e JOIN e.timetable t "
+            + "WHERE t.collegeId = :collegeId AND t.isActive = true AND e.timeSlotId = :timeSlotId")
+    List<BookedSlotDto> findActiveBookings(@Param("collegeId") Integer collegeId,
+            @Param("timeSlotId") Integer timeSlotId);
+
+    // As above, leaving out the given departments' timetables for one year, which are being replaced
+    @Query("SELECT new com.eduverse.dtos.BookedSlotDto(e.teacherId, e.classroomId, e.timeSlotId, e.dayOfWeek, e.periodNumber) "
+            + "FROM TimetableEntry e JOIN e.timetable t "
+            + "WHERE t.collegeId = :collegeId AND t.isActive = true AND e.timeSlotId = :timeSlotId "
+            + "AND NOT (t.year = :year AND t.departmentId IN :departmentIds)")
+    List<BookedSlotDto> findActiveBookingsExcluding(@Param("collegeId") Integer collegeId,
+            @Param("timeSlotId") Integer timeSlotId, @Param("year") int year,
+            @Param("departmentIds") Collection<Integer> departmentIds);
 }
@@ -1,13 +1,41 @@
 package com.eduverse.repositories;
 
+import com.eduverse.dtos.TimetableSummaryDto;
 import com.eduverse.models.Timetable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TimetableRepository extends JpaRepository<Timetable, Integer> {
     List<Timetable> findByCollegeId(Integer collegeId);
 
     List<Timetable> findBySemesterId(Integer semesterId);
+
+    @EntityGraph(attributePaths = { "semester", "generatedBy" })
+    Optional<Timetable> findDetailedById(Integer id);
+
+    // Newest first; a null filter matches every row, and a null cursor starts from the newest
+    @Query("SELECT new com.eduverse.dtos.TimetableSummaryDto(t.id, t.name, COALESCE(s.name, 'N/A'), t.year, "
+            + "t.semesterId, t.departmentId, t.generatedDate, COALESCE(u.fullName, 'System'), t.status, "
+            + "t.optimizationScore, t.generationSeed) "
+            + "FROM Timetable t LEFT JOIN t.semester s LEFT JOIN t.generatedBy u "
+            + "WHERE t.collegeId = :collegeId "
+            + "AND (:semesterId IS NULL OR t.semesterId = :semesterId) "
+            + "AND (:departmentId IS NULL OR t.departmentId = :departmentId) "
+            + "AND (:year IS NULL OR t.year = :year) "
+            + "AND (:status IS NULL OR t.status = :status) "
+            + "AND (:beforeDate IS NULL OR t.generatedDate < :beforeDate "
+            + "OR (t.generatedDate = :beforeDate AND t.id < :beforeId)) "
+            + "ORDER BY t.generatedDate DESC, t.id DESC")
+    List<TimetableSummaryDto> findSummaries(@Param("collegeId") Integer collegeId,
+            @Param("semesterId") Integer semesterId, @Param("departmentId") Integer departmentId,
+            @Param("year") Integer year, @Param("status") String status,
+            @Param("beforeDate") LocalDateTime beforeDate, @Param("beforeId") Integer beforeId, Limit limit);
 }
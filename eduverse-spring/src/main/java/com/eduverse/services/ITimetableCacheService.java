@@ -0,0 +1,16 @@
+package com.eduverse.services;
+
+import com.eduverse.dtos.TimetableCacheStats;
+import com.eduverse.dtos.TimetableDto;
+import com.eduverse.dtos.TimetableView;
+import java.util.function.Function;
+
+public interface ITimetableCacheService {
+    /**
+     * Returns the cached view of the timetable, assembling it with {@code loader} on a miss. A null view is
+     * returned as is and not cached.
+     */
+    TimetableDto get(Integer timetableId, Function<Integer, TimetableView> loader);
+
+    TimetableCacheStats getStats();
+}
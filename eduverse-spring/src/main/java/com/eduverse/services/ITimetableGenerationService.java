@@ -1,18 +1,31 @@
 package com.eduverse.services;
 
+import com.eduverse.algorithms.GenerationProgress;
 import com.eduverse.dtos.*;
 import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
 
 public interface ITimetableGenerationService {
     TimetableGenerationResponse generateTimetables(TimetableGenerationRequest request, Integer userId);
 
+    /**
+     * Same as {@link #generateTimetables(TimetableGenerationRequest, Integer)}, reporting each solution's
+     * progress (keyed by its 1-based solution number) and stopping early, with the best result so far, once
+     * {@code cancellation} returns true.
+     */
+    TimetableGenerationResponse generateTimetables(TimetableGenerationRequest request, Integer userId,
+            BiConsumer<Integer, GenerationProgress> progressListener, BooleanSupplier cancellation);
+
     TimetableDto getTimetableDto(Integer timetableId);
 
     boolean approveTimetable(TimetableApprovalRequest request, Integer userId);
 
-    List<TimetableDto> getAllTimetables(Integer collegeId, Integer userId, String role);
-
-    List<TimetableDto> getTimetablesBySemester(Integer semesterId, Integer collegeId, Integer userId, String role);
+    /**
+     * The college's timetables visible to the user, newest first. A page ends at {@code filter.limit} rows (at
+     * most 200); the next page starts from the generatedDate and id of its last row.
+     */
+    List<TimetableSummaryDto> getTimetables(TimetableFilter filter, Integer collegeId, Integer userId, String role);
 
     boolean deleteTimetable(Integer id, Integer collegeId);
 }
@@ -0,0 +1,15 @@
+package com.eduverse.services;
+
+import com.eduverse.dtos.TimetableGenerationRequest;
+import com.eduverse.dtos.TimetableJobStatus;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface ITimetableJobService {
+    TimetableJobStatus submit(TimetableGenerationRequest request, Integer userId);
+
+    SseEmitter stream(TimetableGenerationRequest request, Integer userId);
+
+    TimetableJobStatus getStatus(String jobId, Integer userId);
+
+    boolean cancel(String jobId, Integer userId);
+}
@@ -1,5 +1,6 @@
 package com.eduverse.services;
 
+import com.eduverse.algorithms.GeneticAlgorithmConfig;
 import com.eduverse.dtos.ValidationResult;
 import com.eduverse.models.*;
 import java.util.List;
@@ -13,4 +14,8 @@ public interface ITimetableValidationService {
             int expectedStudents);
 
     int calculateTotalPeriods(TimeSlot shift);
+
+    ValidationResult validateGeneticAlgorithmConfig(GeneticAlgorithmConfig config);
+
+    ValidationResult validateNumberOfSolutions(int numberOfSolutions);
 }
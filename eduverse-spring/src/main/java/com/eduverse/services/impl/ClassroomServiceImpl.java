@@ -4,10 +4,13 @@ import com.eduverse.dtos.ClassroomDto;
 import com.eduverse.dtos.CreateClassroomDto;
 import com.eduverse.dtos.UpdateClassroomDto;
 import com.eduverse.dtos.ServiceResponse;
+import com.eduverse.enums.TimetableSource;
+import com.eduverse.events.TimetableSourceChangedEvent;
 import com.eduverse.models.Classroom;
 import com.eduverse.repositories.ClassroomRepository;
 import com.eduverse.services.IClassroomService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +22,8 @@ import java.util.stream.Collectors;
 public class ClassroomServiceImpl implements IClassroomService {
     @Autowired
     private ClassroomRepository classroomRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<ClassroomDto> getClassroomsByCollege(Integer collegeId) {
@@ -61,6 +66,7 @@ public class ClassroomServiceImpl implements IClassroomService {
         classroom.setCapacity(dto.getCapacity());
 
         classroomRepository.save(classroom);
+        eventPublisher.publishEvent(new TimetableSourceChangedEvent(TimetableSource.CLASSROOM, classroom.getId()));
         return ServiceResponse.success("Classroom updated successfully", null);
     }
 
@@ -70,6 +76,7 @@ public class ClassroomServiceImpl implements IClassroomService {
         Optional<Classroom> classroomOpt = classroomRepository.findById(id);
         if (classroomOpt.isPresent() && classroomOpt.get().getCollegeId().equals(collegeId)) {
             classroomRepository.delete(classroomOpt.get());
+            eventPublisher.publishEvent(new TimetableSourceChangedEvent(TimetableSource.CLASSROOM, id));
             return true;
         }
         return false;
@@ -4,10 +4,13 @@ import com.eduverse.dtos.CreateSemesterDto;
 import com.eduverse.dtos.SemesterDto;
 import com.eduverse.dtos.UpdateSemesterDto;
 import com.eduverse.dtos.ServiceResponse;
+import com.eduverse.enums.TimetableSource;
+import com.eduverse.events.TimetableSourceChangedEvent;
 import com.eduverse.models.Semester;
 import com.eduverse.repositories.SemesterRepository;
 import com.eduverse.services.ISemesterService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +22,8 @@ import java.util.stream.Collectors;
 public class SemesterServiceImpl implements ISemesterService {
     @Autowired
     private SemesterRepository semesterRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<SemesterDto> getSemestersByCollege(Integer collegeId) {
@@ -57,6 +62,7 @@ public class SemesterServiceImpl implements ISemesterService {
         semester.setEndDate(dto.getEndDate());
 
         semesterRepository.save(semester);
+        eventPublisher.publishEvent(new TimetableSourceChangedEvent(TimetableSource.SEMESTER, semester.getId()));
         return ServiceResponse.success("Semester updated successfully", null);
     }
 
@@ -66,6 +72,7 @@ public class SemesterServiceImpl implements ISemesterService {
         Optional<Semester> semesterOpt = semesterRepository.findById(id);
         if (semesterOpt.isPresent() && semesterOpt.get().getCollegeId().equals(collegeId)) {
             semesterRepository.deleteById(id);
+            eventPublisher.publishEvent(new TimetableSourceChangedEvent(TimetableSource.SEMESTER, id));
             return true;
         }
         return false;
@@ -4,12 +4,15 @@ import com.eduverse.dtos.CreateSubjectDto;
 import com.eduverse.dtos.SubjectDto;
 import com.eduverse.dtos.UpdateSubjectDto;
 import com.eduverse.dtos.ServiceResponse;
+import com.eduverse.enums.TimetableSource;
+import com.eduverse.events.TimetableSourceChangedEvent;
 import com.eduverse.models.Subject;
 import com.eduverse.models.User;
 import com.eduverse.repositories.SubjectRepository;
 import com.eduverse.repositories.UserRepository;
 import com.eduverse.services.ISubjectService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +26,8 @@ public class SubjectServiceImpl implements ISubjectService {
     private SubjectRepository subjectRepository;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<SubjectDto> getSubjectsByCollege(Integer collegeId) {
@@ -114,6 +119,7 @@ public class SubjectServiceImpl implements ISubjectService {
         subject.setTeacherId(dto.getTeacherId());
 
         subjectRepository.save(subject);
+        eventPublisher.publishEvent(new TimetableSourceChangedEvent(TimetableSource.SUBJECT, subject.getId()));
         return ServiceResponse.success("Subject updated successfully", null);
     }
 
@@ -122,6 +128,7 @@ public class SubjectServiceImpl implements ISubjectService {
         Optional<Subject> subjectOpt = subjectRepository.findById(id);
         if (subjectOpt.isPresent() && subjectOpt.get().getCollegeId().equals(collegeId)) {
             subjectRepository.deleteById(id);
+            eventPublisher.publishEvent(new TimetableSourceChangedEvent(TimetableSource.SUBJECT, id));
             return true;
         }
         return false;
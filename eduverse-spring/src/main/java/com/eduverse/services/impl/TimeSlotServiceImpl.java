@@ -4,11 +4,14 @@ import com.eduverse.dtos.CreateTimeSlotDto;
 import com.eduverse.dtos.TimeSlotDto;
 import com.eduverse.dtos.UpdateTimeSlotDto;
 import com.eduverse.dtos.ServiceResponse;
+import com.eduverse.enums.TimetableSource;
+import com.eduverse.events.TimetableSourceChangedEvent;
 import com.eduverse.models.TimeSlot;
 import com.eduverse.repositories.TimeSlotRepository;
 import com.eduverse.services.ITimeSlotService;
 import com.eduverse.services.ITimetableValidationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +25,8 @@ public class TimeSlotServiceImpl implements ITimeSlotService {
     private TimeSlotRepository timeSlotRepository;
     @Autowired
     private ITimetableValidationService validationService;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<TimeSlotDto> getTimeSlotsByCollege(Integer collegeId) {
@@ -71,6 +76,7 @@ public class TimeSlotServiceImpl implements ITimeSlotService {
         timeSlot.setTotalPeriods(periods);
 
         timeSlotRepository.save(timeSlot);
+        eventPublisher.publishEvent(new TimetableSourceChangedEvent(TimetableSource.TIME_SLOT, timeSlot.getId()));
         return ServiceResponse.success("TimeSlot updated successfully", null);
     }
 
@@ -80,6 +86,7 @@ public class TimeSlotServiceImpl implements ITimeSlotService {
         Optional<TimeSlot> timeSlotOpt = timeSlotRepository.findById(id);
         if (timeSlotOpt.isPresent() && timeSlotOpt.get().getCollegeId().equals(collegeId)) {
             timeSlotRepository.deleteById(id);
+            eventPublisher.publishEvent(new TimetableSourceChangedEvent(TimetableSource.TIME_SLOT, id));
             return true;
         }
         return false;
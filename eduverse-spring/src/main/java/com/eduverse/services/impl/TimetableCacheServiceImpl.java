@@ -0,0 +1,162 @@
+package com.eduverse.services.impl;
+
+import com.eduverse.dtos.TimetableCacheStats;
+import com.eduverse.dtos.TimetableDto;
+import com.eduverse.dtos.TimetableView;
+import com.eduverse.enums.TimetableSource;
+import com.eduverse.events.TimetableSourceChangedEvent;
+import com.eduverse.services.ITimetableCacheService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Least-recently-used cache of assembled timetable views. Each view weighs
+ * one plus its entry count, and the cache evicts the oldest views once the
+ * total weight passes the limit. Views also expire after a fixed time.
+ *
+ * Every view remembers the records it was assembled from, so a change to
+ * one of them drops exactly the views that show it. A view loaded while an
+ * invalidation was in flight is returned but not stored, since it may
+ * predate the change.
+ */
+@Service
+public class TimetableCacheServiceImpl implements ITimetableCacheService {
+
+    @Value("${timetable.cache.max-weight:100000}")
+    private long maxWeight;
+
+    @Value("${timetable.cache.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    private final LinkedHashMap<Integer, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<TimetableSource, Map<Integer, Set<Integer>>> dependents = new EnumMap<>(TimetableSource.class);
+    private long weight;
+    private long epoch;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    private static class Entry {
+        final TimetableView view;
+        final long weight;
+        final long expiresAt;
+
+        Entry(TimetableView view, long weight, long expiresAt) {
+            this.view = view;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    @Override
+    public TimetableDto get(Integer timetableId, Function<Integer, TimetableView> loader) {
+        long loadEpoch;
+        synchronized (this) {
+            Entry entry = entries.get(timetableId);
+            if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+                hits++;
+                return entry.view.getTimetable();
+            }
+            if (entry != null) {
+                remove(timetableId);
+                evictions++;
+            }
+            misses++;
+            loadEpoch = epoch;
+        }
+
+        TimetableView view = loader.apply(timetableId);
+        if (view == null)
+            return null;
+
+        synchronized (this) {
+            if (loadEpoch == epoch && !entries.containsKey(timetableId))
+                put(timetableId, view);
+        }
+        return view.getTimetable();
+    }
+
+    @Override
+    public synchronized TimetableCacheStats getStats() {
+        TimetableCacheStats stats = new TimetableCacheStats();
+        stats.setHits(hits);
+        stats.setMisses(misses);
+        stats.setHitRate(hits + misses > 0 ? (double) hits / (hits + misses) : 0);
+        stats.setEvictions(evictions);
+        stats.setInvalidations(invalidations);
+        stats.setSize(entries.size());
+        stats.setWeight(weight);
+        stats.setMaxWeight(maxWeight);
+        return stats;
+    }
+
+    // After commit, so a reader can't cache the old state again before the change is visible
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onSourceChanged(TimetableSourceChangedEvent event) {
+        epoch++;
+        Set<Integer> timetableIds = event.getSource() == TimetableSource.TIMETABLE
+                ? Set.of(event.getId())
+                : dependents.getOrDefault(event.getSource(), Map.of()).get(event.getId());
+        if (timetableIds == null)
+            return;
+        for (Integer timetableId : new HashSet<>(timetableIds)) {
+            if (remove(timetableId))
+                invalidations++;
+        }
+    }
+
+    private void put(Integer timetableId, TimetableView view) {
+        long viewWeight = 1 + view.getTimetable().getEntries().size();
+        if (viewWeight > maxWeight)
+            return;
+
+        entries.put(timetableId, new Entry(view, viewWeight,
+                System.nanoTime() + ttlMinutes * 60_000_000_000L));
+        weight += viewWeight;
+        view.getSources().forEach((source, ids) -> ids.forEach(id -> dependents
+                .computeIfAbsent(source, s -> new HashMap<>())
+                .computeIfAbsent(id, i -> new HashSet<>())
+                .add(timetableId)));
+
+        Iterator<Map.Entry<Integer, Entry>> eldest = entries.entrySet().iterator();
+        while (weight > maxWeight) {
+            Map.Entry<Integer, Entry> evicted = eldest.next();
+            eldest.remove();
+            unlink(evicted.getKey(), evicted.getValue());
+            evictions++;
+        }
+    }
+
+    private boolean remove(Integer timetableId) {
+        Entry entry = entries.remove(timetableId);
+        if (entry == null)
+            return false;
+        unlink(timetableId, entry);
+        return true;
+    }
+
+    private void unlink(Integer timetableId, Entry entry) {
+        weight -= entry.weight;
+        entry.view.getSources().forEach((source, ids) -> {
+            Map<Integer, Set<Integer>> byId = dependents.get(source);
+            for (Integer id : ids) {
+                Set<Integer> timetableIds = byId.get(id);
+                timetableIds.remove(timetableId);
+                if (timetableIds.isEmpty())
+                    byId.remove(id);
+            }
+        });
+    }
+}
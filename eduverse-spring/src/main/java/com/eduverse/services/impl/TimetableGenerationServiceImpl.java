@@ -1,27 +1,53 @@
 package com.eduverse.services.impl;
 
-import com.eduverse.algorithms.GeneticAlgorithm;
+import com.eduverse.algorithms.GeneticAlgorithmConfig;
+import com.eduverse.algorithms.GenerationProgress;
 import com.eduverse.algorithms.TimetableChromosome;
+import com.eduverse.algorithms.TimetableProblem;
+import com.eduverse.algorithms.TimetableSolver;
 import com.eduverse.dtos.*;
 import com.eduverse.dtos.ValidationResult;
+import com.eduverse.enums.TimetableSource;
+import com.eduverse.events.TimetableSourceChangedEvent;
 import com.eduverse.models.*;
 import com.eduverse.repositories.*;
+import com.eduverse.services.ITimetableCacheService;
 import com.eduverse.services.ITimetableGenerationService;
 import com.eduverse.services.ITimetableValidationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 
 @Service
 public class TimetableGenerationServiceImpl implements ITimetableGenerationService {
+    private static final int MAX_PAGE_SIZE = 200;
 
     @Autowired
     private TimetableRepository timetableRepository;
@@ -41,155 +67,412 @@ public class TimetableGenerationServiceImpl implements ITimetableGenerationServi
     private TimeSlotRepository timeSlotRepository;
     @Autowired
     private ITimetableValidationService validationService;
+    @Autowired
+    private ITimetableCacheService timetableCache;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("timetableExecutor")
+    private Executor timetableExecutor;
+
+    @Autowired
+    private GeneticAlgorithmConfig gaDefaults;
 
     @Override
-    @Transactional
     public TimetableGenerationResponse generateTimetables(TimetableGenerationRequest request, Integer userId) {
+        return generateTimetables(request, userId, null, () -> false);
+    }
+
+    /**
+     * Loads the problem in a short read-only transaction, solves it outside
+     * any transaction and saves the solutions in a second one, so no
+     * connection is held while the engines run.
+     */
+    @Override
+    public TimetableGenerationResponse generateTimetables(TimetableGenerationRequest request, Integer userId,
+            BiConsumer<Integer, GenerationProgress> progressListener, BooleanSupplier cancellation) {
         try {
-            Semester semester = semesterRepository.findById(request.getSemesterId()).orElse(null);
-            Department department = departmentRepository.findById(request.getDepartmentId()).orElse(null);
-
-            if (semester == null || department == null) {
-                TimetableGenerationResponse res = new TimetableGenerationResponse();
-                res.setSuccess(false);
-                res.setMessage("Semester or Department not found");
-                return res;
+            ValidationResult countResult = validationService.validateNumberOfSolutions(request.getNumberOfSolutions());
+            if (!countResult.isValid())
+                return failure(String.join("\n", countResult.getErrors()));
+
+            GenerationPlan plan = transaction(true).execute(status -> request.isCollegeWide()
+                    ? planCollegeTimetables(request)
+                    : planCohortTimetables(request));
+            if (plan.failure != null)
+                return plan.failure;
+
+            // Solution i runs with baseSeed + i, so any single solution can be replayed from its recorded seed
+            long baseSeed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+
+            List<TimetableSolver> runs = new ArrayList<>();
+            for (int i = 0; i < request.getNumberOfSolutions(); i++) {
+                for (TimetableProblem problem : plan.problems) {
+                    TimetableSolver solver = TimetableSolver.create(plan.config.getEngine(), problem, plan.config,
+                            baseSeed + i, ForkJoinPool.commonPool());
+                    if (progressListener != null) {
+                        int run = runs.size() + 1;
+                        solver.setListener(progress -> progressListener.accept(run, progress));
+                    }
+                    runs.add(solver);
+                }
+            }
+            List<TimetableChromosome> solutions = solve(runs, cancellation);
+
+            int runsPerSolution = plan.problems.size();
+            List<TimetableDto> generatedTimetables = transaction(false).execute(status -> saveSolutions(
+                    plan.semester, plan.departments, runs, solutions, runsPerSolution, userId));
+
+            StringBuilder responseMsg = new StringBuilder("Generated " + request.getNumberOfSolutions()
+                    + " solution(s) for " + plan.summary);
+            for (int r = 0; r < runs.size(); r++) {
+                if (runs.get(r).getVerdict() == null)
+                    continue;
+                responseMsg.append("\nSol ").append(r / runsPerSolution + 1);
+                if (request.isCollegeWide())
+                    responseMsg.append(", Year ").append(runs.get(r).getProblem().getShift().getYear());
+                responseMsg.append(": ").append(runs.get(r).getVerdict());
+            }
+            if (!plan.validationResult.getWarnings().isEmpty()) {
+                responseMsg.append("\n\nWarnings:\n");
+                plan.validationResult.getWarnings().forEach(w -> responseMsg.append(w).append("\n"));
             }
 
-            List<Subject> subjects = subjectRepository.findByDepartmentIdAndYear(department.getId(), request.getYear());
+            TimetableGenerationResponse response = new TimetableGenerationResponse();
+            response.setSuccess(true);
+            response.setMessage(responseMsg.toString());
+            response.setGeneratedTimetables(generatedTimetables);
+            return response;
 
-            List<User> allTeachers = userRepository.findByCollegeId(department.getCollegeId()).stream()
-                    .filter(u -> u.getRoleId() == 3 && u.isActive())
-                    .collect(Collectors.toList());
+        } catch (Exception ex) {
+            return failure("Error: " + ex.getMessage());
+        }
+    }
 
-            List<Classroom> allClassrooms = classroomRepository.findByCollegeId(department.getCollegeId());
+    /**
+     * What the read-only phase hands to the solvers: one problem per run of a
+     * solution, or the response to return instead.
+     */
+    private static class GenerationPlan {
+        Semester semester;
+        Map<Integer, Department> departments;
+        List<TimetableProblem> problems;
+        GeneticAlgorithmConfig config;
+        ValidationResult validationResult;
+        String summary;
+        TimetableGenerationResponse failure;
+    }
 
-            TimeSlot shift = timeSlotRepository.findByCollegeIdAndYear(department.getCollegeId(), request.getYear())
-                    .stream()
-                    .findFirst().orElse(null);
+    private static GenerationPlan planFailure(TimetableGenerationResponse failure) {
+        GenerationPlan plan = new GenerationPlan();
+        plan.failure = failure;
+        return plan;
+    }
+
+    private GenerationPlan planCohortTimetables(TimetableGenerationRequest request) {
+        Semester semester = semesterRepository.findById(request.getSemesterId()).orElse(null);
+        Department department = departmentRepository.findById(request.getDepartmentId()).orElse(null);
+
+        if (semester == null || department == null) {
+            return planFailure(failure("Semester or Department not found"));
+        }
+
+        List<Subject> subjects = subjectRepository.findByDepartmentIdAndYear(department.getId(), request.getYear());
+
+        List<User> allTeachers = userRepository.findByCollegeId(department.getCollegeId()).stream()
+                .filter(u -> u.getRoleId() == 3 && u.isActive())
+                .collect(Collectors.toList());
+
+        List<Classroom> allClassrooms = classroomRepository.findByCollegeId(department.getCollegeId());
+
+        TimeSlot shift = timeSlotRepository.findByCollegeIdAndYear(department.getCollegeId(), request.getYear())
+                .stream()
+                .findFirst().orElse(null);
+
+        if (shift == null) {
+            return planFailure(failure("No TimeSlot Shift defined for Year " + request.getYear()));
+        }
+
+        if (shift.getTotalPeriods() == 0) {
+            shift.setTotalPeriods(validationService.calculateTotalPeriods(shift));
+        }
+
+        GeneticAlgorithmConfig gaConfig = buildGeneticAlgorithmConfig(request);
+        ValidationResult configResult = validationService.validateGeneticAlgorithmConfig(gaConfig);
+        if (!configResult.isValid()) {
+            return planFailure(failure(String.join("\n", configResult.getErrors())));
+        }
+
+        ValidationResult validationResult = validationService.validateTimetableGeneration(
+                subjects, allTeachers, allClassrooms, shift, 0);
+
+        if (!validationResult.isValid()) {
+            return planFailure(validationFailure(validationResult));
+        }
+
+        List<BookedSlotDto> existingEntries = timetableEntryRepository.findActiveBookings(
+                department.getCollegeId(), shift.getId());
+
+        GenerationPlan plan = new GenerationPlan();
+        plan.semester = semester;
+        plan.departments = Map.of(department.getId(), department);
+        plan.problems = List.of(new TimetableProblem(subjects, allTeachers, allClassrooms, shift, existingEntries));
+        plan.config = gaConfig;
+        plan.validationResult = validationResult;
+        plan.summary = department.getName() + " (Year " + request.getYear() + ")";
+        return plan;
+    }
+
+    /**
+     * Schedules every department and year of the semester's college, one
+     * engine run per shift, so cohorts compete for teachers and classrooms
+     * together instead of in the order their requests arrive. Active
+     * timetables of the cohorts being scheduled are not treated as bookings.
+     * Progress is keyed by run: solution n on the k-th shift is run
+     * (n - 1) * shifts + k.
+     */
+    private GenerationPlan planCollegeTimetables(TimetableGenerationRequest request) {
+        Semester semester = semesterRepository.findById(request.getSemesterId()).orElse(null);
+        if (semester == null)
+            return planFailure(failure("Semester not found"));
+        Integer collegeId = semester.getCollegeId();
+
+        GeneticAlgorithmConfig gaConfig = buildGeneticAlgorithmConfig(request);
+        ValidationResult configResult = validationService.validateGeneticAlgorithmConfig(gaConfig);
+        if (!configResult.isValid())
+            return planFailure(failure(String.join("\n", configResult.getErrors())));
+
+        Map<Integer, Department> departments = departmentRepository.findByCollegeId(collegeId).stream()
+                .collect(Collectors.toMap(Department::getId, d -> d));
+
+        List<User> allTeachers = userRepository.findByCollegeId(collegeId).stream()
+                .filter(u -> u.getRoleId() == 3 && u.isActive())
+                .collect(Collectors.toList());
 
+        List<Classroom> allClassrooms = classroomRepository.findByCollegeId(collegeId);
+
+        // Each year has its own shift, so a year's cohorts form one joint problem
+        Map<Integer, List<Subject>> subjectsByYear = subjectRepository.findByCollegeId(collegeId).stream()
+                .filter(s -> departments.containsKey(s.getDepartmentId()))
+                .collect(Collectors.groupingBy(Subject::getYear, TreeMap::new, Collectors.toList()));
+        if (subjectsByYear.isEmpty())
+            return planFailure(failure("No subjects defined for this college"));
+
+        ValidationResult validationResult = new ValidationResult();
+        List<TimeSlot> shifts = new ArrayList<>();
+        Set<String> cohorts = new HashSet<>();
+        for (Map.Entry<Integer, List<Subject>> year : subjectsByYear.entrySet()) {
+            TimeSlot shift = timeSlotRepository.findByCollegeIdAndYear(collegeId, year.getKey()).stream()
+                    .findFirst().orElse(null);
             if (shift == null) {
-                TimetableGenerationResponse res = new TimetableGenerationResponse();
-                res.setSuccess(false);
-                res.setMessage("No TimeSlot Shift defined for Year " + request.getYear());
-                return res;
+                validationResult.setValid(false);
+                validationResult.getErrors().add("No TimeSlot Shift defined for Year " + year.getKey());
+                continue;
             }
-
             if (shift.getTotalPeriods() == 0) {
                 shift.setTotalPeriods(validationService.calculateTotalPeriods(shift));
             }
+            shifts.add(shift);
+
+            Map<Integer, List<Subject>> byDepartment = year.getValue().stream()
+                    .collect(Collectors.groupingBy(Subject::getDepartmentId, TreeMap::new, Collectors.toList()));
+            for (Map.Entry<Integer, List<Subject>> cohort : byDepartment.entrySet()) {
+                String label = departments.get(cohort.getKey()).getCode() + " Year " + year.getKey() + ": ";
+                ValidationResult result = validationService.validateTimetableGeneration(
+                        cohort.getValue(), allTeachers, allClassrooms, shift, 0);
+                if (!result.isValid())
+                    validationResult.setValid(false);
+                result.getErrors().forEach(e -> validationResult.getErrors().add(label + e));
+                result.getWarnings().forEach(w -> validationResult.getWarnings().add(label + w));
+                cohorts.add(cohort.getKey() + "/" + year.getKey());
+            }
+        }
+        if (!validationResult.isValid())
+            return planFailure(validationFailure(validationResult));
+
+        List<TimetableProblem> problems = new ArrayList<>();
+        for (TimeSlot shift : shifts) {
+            List<Subject> subjects = subjectsByYear.get(shift.getYear());
+            // The cohorts being scheduled replace their active timetables, so those don't count as booked
+            Set<Integer> departmentIds = subjects.stream().map(Subject::getDepartmentId).collect(Collectors.toSet());
+            List<BookedSlotDto> existingEntries = timetableEntryRepository.findActiveBookingsExcluding(
+                    collegeId, shift.getId(), shift.getYear(), departmentIds);
+            problems.add(new TimetableProblem(subjects, allTeachers, allClassrooms, shift, existingEntries));
+        }
 
-            ValidationResult validationResult = validationService.validateTimetableGeneration(
-                    subjects, allTeachers, allClassrooms, shift, 0);
+        GenerationPlan plan = new GenerationPlan();
+        plan.semester = semester;
+        plan.departments = departments;
+        plan.problems = problems;
+        plan.config = gaConfig;
+        plan.validationResult = validationResult;
+        plan.summary = cohorts.size() + " cohort(s) across " + shifts.size() + " shift(s)";
+        return plan;
+    }
 
-            if (!validationResult.isValid()) {
-                StringBuilder message = new StringBuilder("Timetable generation not possible:\n");
-                validationResult.getErrors().forEach(e -> message.append(e).append("\n"));
-                if (!validationResult.getWarnings().isEmpty()) {
-                    message.append("\nWarnings:\n");
-                    validationResult.getWarnings().forEach(w -> message.append(w).append("\n"));
-                }
-                TimetableGenerationResponse res = new TimetableGenerationResponse();
-                res.setSuccess(false);
-                res.setMessage(message.toString());
-                return res;
+    /**
+     * Runs every solver on the timetable executor. If a run throws or can't
+     * be submitted, the others are cancelled rather than left running.
+     */
+    private List<TimetableChromosome> solve(List<TimetableSolver> runs, BooleanSupplier cancellation) {
+        AtomicBoolean abandoned = new AtomicBoolean();
+        List<CompletableFuture<TimetableChromosome>> solutions = new ArrayList<>();
+        CompletableFuture<Void> failed = new CompletableFuture<>();
+        boolean solved = false;
+        try {
+            for (TimetableSolver run : runs) {
+                run.setCancellation(() -> abandoned.get() || cancellation.getAsBoolean());
+                CompletableFuture<TimetableChromosome> solution = CompletableFuture.supplyAsync(run::run,
+                        timetableExecutor);
+                solution.whenComplete((best, ex) -> {
+                    if (ex != null)
+                        failed.completeExceptionally(ex);
+                });
+                solutions.add(solution);
             }
-
-            List<TimetableEntry> existingEntries = timetableEntryRepository.findAll().stream()
-                    .filter(e -> e.getTimetable().isActive()
-                            && e.getTimetable().getCollegeId().equals(department.getCollegeId()))
+            CompletableFuture.anyOf(CompletableFuture.allOf(solutions.toArray(new CompletableFuture[0])), failed)
+                    .join();
+            List<TimetableChromosome> best = solutions.stream().map(CompletableFuture::join)
                     .collect(Collectors.toList());
-
-            List<TimetableDto> generatedTimetables = new ArrayList<>();
-
-            for (int i = 0; i < request.getNumberOfSolutions(); i++) {
-                TimetableDto timetable = generateSingleTimetable(
-                        semester, department, subjects, allTeachers, allClassrooms,
-                        shift, existingEntries, userId, i + 1, request.getYear());
-
-                if (timetable != null)
-                    generatedTimetables.add(timetable);
+            solved = true;
+            return best;
+        } finally {
+            if (!solved) {
+                abandoned.set(true);
+                solutions.forEach(solution -> solution.cancel(false));
             }
+        }
+    }
 
-            StringBuilder responseMsg = new StringBuilder("Generated " + generatedTimetables.size()
-                    + " solution(s) for " + department.getName() + " (Year " + request.getYear() + ")");
-            if (!validationResult.getWarnings().isEmpty()) {
-                responseMsg.append("\n\nWarnings:\n");
-                validationResult.getWarnings().forEach(w -> responseMsg.append(w).append("\n"));
-            }
+    private TransactionTemplate transaction(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template;
+    }
 
-            TimetableGenerationResponse response = new TimetableGenerationResponse();
-            response.setSuccess(true);
-            response.setMessage(responseMsg.toString());
-            response.setGeneratedTimetables(generatedTimetables);
-            return response;
+    private TimetableGenerationResponse failure(String message) {
+        TimetableGenerationResponse res = new TimetableGenerationResponse();
+        res.setSuccess(false);
+        res.setMessage(message);
+        return res;
+    }
 
-        } catch (Exception ex) {
-            TimetableGenerationResponse res = new TimetableGenerationResponse();
-            res.setSuccess(false);
-            res.setMessage("Error: " + ex.getMessage());
-            return res;
+    private TimetableGenerationResponse validationFailure(ValidationResult validationResult) {
+        StringBuilder message = new StringBuilder("Timetable generation not possible:\n");
+        validationResult.getErrors().forEach(e -> message.append(e).append("\n"));
+        if (!validationResult.getWarnings().isEmpty()) {
+            message.append("\nWarnings:\n");
+            validationResult.getWarnings().forEach(w -> message.append(w).append("\n"));
         }
+        return failure(message.toString());
     }
 
-    @Transactional
-    public TimetableDto generateSingleTimetable(
-            Semester semester, Department department, List<Subject> subjects,
-            List<User> teachers, List<Classroom> classrooms, TimeSlot shift,
-            List<TimetableEntry> existingEntries, Integer userId, int solutionNumber, int year) {
+    private GeneticAlgorithmConfig buildGeneticAlgorithmConfig(TimetableGenerationRequest request) {
+        GeneticAlgorithmConfig config = gaDefaults.toBuilder().build();
+        if (request.getEngine() != null)
+            config.setEngine(request.getEngine());
+        if (request.getDecomposed() != null)
+            config.setDecomposed(request.getDecomposed());
+        if (request.getPopulationSize() != null)
+            config.setPopulationSize(request.getPopulationSize());
+        if (request.getMaxGenerations() != null)
+            config.setMaxGenerations(request.getMaxGenerations());
+        if (request.getMutationRate() != null)
+            config.setMutationRate(request.getMutationRate());
+        if (request.getCrossoverRate() != null)
+            config.setCrossoverRate(request.getCrossoverRate());
+        if (request.getEliteCount() != null)
+            config.setEliteCount(request.getEliteCount());
+        if (request.getTournamentSize() != null)
+            config.setTournamentSize(request.getTournamentSize());
+        if (request.getTimeBudgetMs() != null)
+            config.setTimeBudgetMs(request.getTimeBudgetMs());
+        if (request.getTargetFitness() != null)
+            config.setTargetFitness(request.getTargetFitness());
+        return config;
+    }
+
+    /**
+     * Saves one draft timetable per cohort of every run. Run r belongs to
+     * solution {@code r / runsPerSolution + 1}; a joint run's score is its
+     * mean over cohorts and is recorded on each of them.
+     */
+    private List<TimetableDto> saveSolutions(
+            Semester semester, Map<Integer, Department> departments, List<TimetableSolver> runs,
+            List<TimetableChromosome> solutions, int runsPerSolution, Integer userId) {
 
         User user = userRepository.findById(userId).orElseThrow();
 
-        Timetable timetable = Timetable.builder()
-                .name(department.getCode() + " - Year " + year + " - " + semester.getName() + " (Sol " + solutionNumber
-                        + ")")
-                .semester(semester)
-                .semesterId(semester.getId())
-                .college(semester.getCollege())
-                .collegeId(semester.getCollegeId())
-                .department(department)
-                .departmentId(department.getId())
-                .year(year)
-                .generatedBy(user)
-                .generatedByUserId(userId)
-                .generatedDate(LocalDateTime.now())
-                .status("Draft")
-                .isActive(false)
-                .build();
-
-        timetable = timetableRepository.save(timetable);
-
-        GeneticAlgorithm ga = new GeneticAlgorithm(subjects, teachers, classrooms, shift, existingEntries);
-
-        TimetableChromosome bestChromosome = ga.run();
-
-        final Integer timetableId = timetable.getId();
-        List<TimetableEntry> entries = bestChromosome.getGenes().stream().map(g -> TimetableEntry.builder()
-                .timetable(null)
-                .timetableId(timetableId)
-                .subjectId(g.getSubjectId())
-                .teacherId(g.getTeacherId())
-                .classroomId(g.getClassroomId())
-                .timeSlotId(shift.getId())
-                .periodNumber(g.getPeriodNumber())
-                .dayOfWeek(g.getDayOfWeek())
-                .build()).collect(Collectors.toList());
-
-        for (TimetableEntry entry : entries) {
-            entry.setTimetable(timetable);
+        List<Timetable> timetables = new ArrayList<>(runs.size());
+        int[] firstTimetable = new int[runs.size()];
+        for (int i = 0; i < runs.size(); i++) {
+            TimetableProblem problem = runs.get(i).getProblem();
+            int solution = i / runsPerSolution + 1;
+            firstTimetable[i] = timetables.size();
+            for (int cohort = 0; cohort < problem.getCohortCount(); cohort++) {
+                Department department = departments.get(problem.getCohortDepartmentId(cohort));
+                int year = problem.getCohortYear(cohort);
+                timetables.add(Timetable.builder()
+                        .name(department.getCode() + " - Year " + year + " - " + semester.getName() + " (Sol "
+                                + solution + ")")
+                        .semester(semester)
+                        .semesterId(semester.getId())
+                        .college(semester.getCollege())
+                        .collegeId(semester.getCollegeId())
+                        .department(department)
+                        .departmentId(department.getId())
+                        .year(year)
+                        .generatedBy(user)
+                        .generatedByUserId(userId)
+                        .generatedDate(LocalDateTime.now())
+                        .status("Draft")
+                        .isActive(false)
+                        .optimizationScore(solutions.get(i).getFitness())
+                        .generationSeed(runs.get(i).getSeed())
+                        .build());
+            }
         }
+        timetables = timetableRepository.saveAll(timetables);
+
+        List<TimetableEntry> entries = new ArrayList<>();
+        for (int i = 0; i < runs.size(); i++) {
+            TimetableProblem problem = runs.get(i).getProblem();
+            TimetableChromosome bestChromosome = solutions.get(i);
+
+            for (int g = 0; g < bestChromosome.size(); g++) {
+                int cohort = problem.getCohort(bestChromosome.getSubject(g));
+                Timetable timetable = timetables.get(firstTimetable[i] + cohort);
+                entries.add(TimetableEntry.builder()
+                        .timetableId(timetable.getId())
+                        .subjectId(problem.getSubjectId(bestChromosome.getSubject(g)))
+                        .teacherId(problem.getTeacherId(bestChromosome.getTeacher(g)))
+                        .classroomId(problem.getClassroomId(bestChromosome.getClassroom(g)))
+                        .timeSlotId(problem.getShift().getId())
+                        .periodNumber(bestChromosome.getPeriod(g))
+                        .dayOfWeek(TimetableProblem.DAYS[bestChromosome.getDay(g)])
+                        .build());
+            }
+        }
+        timetableEntryRepository.insertAll(entries);
 
-        timetableEntryRepository.saveAll(entries);
-
-        timetable.setOptimizationScore(bestChromosome.getFitness());
-        timetableRepository.save(timetable);
-
-        return getTimetableDto(timetable.getId());
+        // Not through the cache: the transaction may still roll back
+        return timetables.stream()
+                .map(t -> loadTimetableView(t.getId()))
+                .filter(Objects::nonNull)
+                .map(TimetableView::getTimetable)
+                .collect(Collectors.toList());
     }
 
     @Override
     public TimetableDto getTimetableDto(Integer timetableId) {
-        Timetable timetable = timetableRepository.findById(timetableId).orElse(null);
+        return timetableCache.get(timetableId, this::loadTimetableView);
+    }
+
+    private TimetableView loadTimetableView(Integer timetableId) {
+        Timetable timetable = timetableRepository.findDetailedById(timetableId).orElse(null);
         if (timetable == null)
             return null;
 
@@ -204,12 +487,18 @@ public class TimetableGenerationServiceImpl implements ITimetableGenerationServi
         dto.setGeneratedDate(timetable.getGeneratedDate());
         dto.setStatus(timetable.getStatus());
         dto.setOptimizationScore(timetable.getOptimizationScore());
+        dto.setGenerationSeed(timetable.getGenerationSeed());
 
-        if (!timetable.getEntries().isEmpty()) {
-            dto.setBreakAfterPeriod(timetable.getEntries().get(0).getTimeSlot().getBreakAfterPeriod());
+        List<TimetableEntry> entries = timetableEntryRepository.findDetailedByTimetableId(timetableId);
+        if (!entries.isEmpty()) {
+            dto.setBreakAfterPeriod(entries.get(0).getTimeSlot().getBreakAfterPeriod());
         }
 
-        List<TimetableEntryDto> entryDtos = timetable.getEntries().stream().map(e -> {
+        // Period times depend only on the shift, so each shift's are worked out once
+        int maxPeriod = entries.stream().mapToInt(TimetableEntry::getPeriodNumber).max().orElse(0);
+        Map<Integer, TimeRange[]> periodTimes = new HashMap<>();
+
+        List<TimetableEntryDto> entryDtos = entries.stream().map(e -> {
             TimetableEntryDto ed = new TimetableEntryDto();
             ed.setId(e.getId());
             ed.setSubjectName(e.getSubject().getName());
@@ -219,7 +508,8 @@ public class TimetableGenerationServiceImpl implements ITimetableGenerationServi
             ed.setDayOfWeek(e.getDayOfWeek());
             ed.setPeriodNumber(e.getPeriodNumber());
 
-            TimeRange range = calculatePeriodTime(e.getTimeSlot(), e.getPeriodNumber());
+            TimeRange range = periodTimes.computeIfAbsent(e.getTimeSlotId(),
+                    id -> calculatePeriodTimes(e.getTimeSlot(), maxPeriod))[e.getPeriodNumber() - 1];
             ed.setStartTime(range.startTime);
             ed.setEndTime(range.endTime);
             ed.setTimeSlot(range.startTime + " - " + range.endTime);
@@ -230,57 +520,49 @@ public class TimetableGenerationServiceImpl implements ITimetableGenerationServi
                 .collect(Collectors.toList());
 
         dto.setEntries(entryDtos);
-        return dto;
-    }
 
-    @Override
-    public List<TimetableDto> getAllTimetables(Integer collegeId, Integer userId, String role) {
-        List<Timetable> timetables = timetableRepository.findByCollegeId(collegeId);
-        return filterAndMapTimetables(timetables, userId, role);
+        Map<TimetableSource, Set<Integer>> sources = new EnumMap<>(TimetableSource.class);
+        sources.put(TimetableSource.TIMETABLE, Set.of(timetable.getId()));
+        sources.put(TimetableSource.SEMESTER, Set.of(timetable.getSemesterId()));
+        Set<Integer> users = entries.stream().map(TimetableEntry::getTeacherId).collect(Collectors.toSet());
+        if (timetable.getGeneratedByUserId() != null)
+            users.add(timetable.getGeneratedByUserId());
+        sources.put(TimetableSource.USER, users);
+        sources.put(TimetableSource.SUBJECT,
+                entries.stream().map(TimetableEntry::getSubjectId).collect(Collectors.toSet()));
+        sources.put(TimetableSource.CLASSROOM,
+                entries.stream().map(TimetableEntry::getClassroomId).collect(Collectors.toSet()));
+        sources.put(TimetableSource.TIME_SLOT,
+                entries.stream().map(TimetableEntry::getTimeSlotId).collect(Collectors.toSet()));
+        return new TimetableView(dto, sources);
     }
 
     @Override
-    public List<TimetableDto> getTimetablesBySemester(Integer semesterId, Integer collegeId, Integer userId,
+    public List<TimetableSummaryDto> getTimetables(TimetableFilter filter, Integer collegeId, Integer userId,
             String role) {
-        List<Timetable> timetables = timetableRepository.findByCollegeId(collegeId).stream()
-                .filter(t -> t.getSemesterId().equals(semesterId))
-                .collect(Collectors.toList());
-        return filterAndMapTimetables(timetables, userId, role);
-    }
-
-    private List<TimetableDto> filterAndMapTimetables(List<Timetable> timetables, Integer userId, String role) {
         User user = userRepository.findById(userId).orElseThrow();
 
-        if (!role.equals("ADMIN") && !role.equals("SUPERADMIN")) {
-            if (user.getDepartmentId() != null) {
-                timetables = timetables.stream()
-                        .filter(t -> t.getDepartmentId().equals(user.getDepartmentId()))
-                        .collect(Collectors.toList());
-            }
+        // Department staff only see their department, and teachers only approved timetables
+        Integer departmentId = filter.getDepartmentId();
+        if (!role.equals("ADMIN") && !role.equals("SUPERADMIN") && user.getDepartmentId() != null) {
+            if (departmentId != null && !departmentId.equals(user.getDepartmentId()))
+                return List.of();
+            departmentId = user.getDepartmentId();
         }
-
+        String status = filter.getStatus();
         if (role.equals("TEACHER")) {
-            timetables = timetables.stream()
-                    .filter(t -> t.getStatus().equals("Approved"))
-                    .collect(Collectors.toList());
+            if (status != null && !status.equals("Approved"))
+                return List.of();
+            status = "Approved";
         }
 
-        return timetables.stream()
-                .sorted(Comparator.comparing(Timetable::getGeneratedDate).reversed())
-                .map(t -> {
-                    TimetableDto d = new TimetableDto();
-                    d.setId(t.getId());
-                    d.setName(t.getName());
-                    d.setSemesterName(t.getSemester() != null ? t.getSemester().getName() : "N/A");
-                    d.setSemesterId(t.getSemesterId());
-                    d.setDepartmentId(t.getDepartmentId());
-                    d.setYear(t.getYear());
-                    d.setGeneratedBy(t.getGeneratedBy() != null ? t.getGeneratedBy().getFullName() : "System");
-                    d.setGeneratedDate(t.getGeneratedDate());
-                    d.setStatus(t.getStatus());
-                    d.setOptimizationScore(t.getOptimizationScore());
-                    return d;
-                }).collect(Collectors.toList());
+        boolean hasCursor = filter.getBeforeDate() != null && filter.getBeforeId() != null;
+        Limit limit = filter.getLimit() != null && filter.getLimit() > 0
+                ? Limit.of(Math.min(filter.getLimit(), MAX_PAGE_SIZE))
+                : Limit.unlimited();
+        return timetableRepository.findSummaries(collegeId, filter.getSemesterId(), departmentId,
+                filter.getYear(), status, hasCursor ? filter.getBeforeDate() : null,
+                hasCursor ? filter.getBeforeId() : null, limit);
     }
 
     @Override
@@ -291,6 +573,7 @@ public class TimetableGenerationServiceImpl implements ITimetableGenerationServi
                 .map(t -> {
                     timetableEntryRepository.deleteAll(t.getEntries());
                     timetableRepository.delete(t);
+                    eventPublisher.publishEvent(new TimetableSourceChangedEvent(TimetableSource.TIMETABLE, id));
                     return true;
                 }).orElse(false);
     }
@@ -300,22 +583,23 @@ public class TimetableGenerationServiceImpl implements ITimetableGenerationServi
         String endTime;
     }
 
-    private TimeRange calculatePeriodTime(TimeSlot shift, int periodNumber) {
+    private TimeRange[] calculatePeriodTimes(TimeSlot shift, int periods) {
         LocalTime currentTime = shift.getStartTime();
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm");
 
-        for (int p = 1; p < periodNumber; p++) {
-            currentTime = currentTime.plusMinutes(shift.getPeriodDurationMinutes());
+        TimeRange[] ranges = new TimeRange[periods];
+        for (int p = 1; p <= periods; p++) {
+            LocalTime endTime = currentTime.plusMinutes(shift.getPeriodDurationMinutes());
+            ranges[p - 1] = new TimeRange();
+            ranges[p - 1].startTime = currentTime.format(formatter);
+            ranges[p - 1].endTime = endTime.format(formatter);
+
+            currentTime = endTime;
             if (p % shift.getBreakAfterPeriod() == 0) {
                 currentTime = currentTime.plusMinutes(shift.getBreakDurationMinutes());
             }
         }
-
-        LocalTime endTime = currentTime.plusMinutes(shift.getPeriodDurationMinutes());
-        TimeRange range = new TimeRange();
-        range.startTime = currentTime.format(formatter);
-        range.endTime = endTime.format(formatter);
-        return range;
+        return ranges;
     }
 
     @Override
@@ -335,6 +619,8 @@ public class TimetableGenerationServiceImpl implements ITimetableGenerationServi
                 timetable.setActive(true);
             }
             timetableRepository.save(timetable);
+            eventPublisher.publishEvent(
+                    new TimetableSourceChangedEvent(TimetableSource.TIMETABLE, timetable.getId()));
         });
 
         return true;
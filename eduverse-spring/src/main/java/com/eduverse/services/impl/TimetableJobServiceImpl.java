@@ -0,0 +1,210 @@
+package com.eduverse.services.impl;
+
+import com.eduverse.algorithms.GenerationProgress;
+import com.eduverse.dtos.GenerationProgressEvent;
+import com.eduverse.dtos.TimetableGenerationRequest;
+import com.eduverse.dtos.TimetableGenerationResponse;
+import com.eduverse.dtos.TimetableJobStatus;
+import com.eduverse.enums.GenerationJobState;
+import com.eduverse.services.ITimetableGenerationService;
+import com.eduverse.services.ITimetableJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs timetable generation in the background. Jobs live in memory only, so
+ * they are lost on restart; finished jobs are dropped after the retention
+ * period. A streamed job is an ordinary job that also pushes its progress to
+ * an {@link SseEmitter}.
+ */
+@Service
+@lombok.extern.slf4j.Slf4j
+public class TimetableJobServiceImpl implements ITimetableJobService {
+
+    @Autowired
+    private ITimetableGenerationService timetableService;
+
+    @Autowired
+    @Qualifier("timetableJobExecutor")
+    private Executor jobExecutor;
+
+    @Value("${timetable.jobs.retention-minutes:60}")
+    private long retentionMinutes;
+
+    @Value("${timetable.jobs.stream-timeout-ms:600000}")
+    private long streamTimeoutMs;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    @Override
+    public TimetableJobStatus submit(TimetableGenerationRequest request, Integer userId) {
+        Job job = start(request, userId, null);
+        return job != null ? toStatus(job) : null;
+    }
+
+    @Override
+    public SseEmitter stream(TimetableGenerationRequest request, Integer userId) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        Job job = start(request, userId, emitter);
+        if (job == null)
+            return null;
+
+        send(job, "status", toStatus(job));
+        return emitter;
+    }
+
+    private Job start(TimetableGenerationRequest request, Integer userId, SseEmitter emitter) {
+        evictFinishedJobs();
+
+        Job job = new Job(UUID.randomUUID().toString(), userId, emitter);
+        jobs.put(job.id, job);
+
+        if (emitter != null) {
+            // A client that goes away cancels its run
+            emitter.onTimeout(() -> job.cancelled = true);
+            emitter.onError(ex -> job.cancelled = true);
+        }
+
+        try {
+            jobExecutor.execute(() -> runJob(job, request));
+        } catch (TaskRejectedException ex) {
+            jobs.remove(job.id);
+            return null;
+        }
+        return job;
+    }
+
+    @Override
+    public TimetableJobStatus getStatus(String jobId, Integer userId) {
+        Job job = jobs.get(jobId);
+        if (job == null || !job.userId.equals(userId))
+            return null;
+        return toStatus(job);
+    }
+
+    @Override
+    public boolean cancel(String jobId, Integer userId) {
+        Job job = jobs.get(jobId);
+        if (job == null || !job.userId.equals(userId))
+            return false;
+
+        job.cancelled = true;
+        return true;
+    }
+
+    private void runJob(Job job, TimetableGenerationRequest request) {
+        if (job.cancelled) {
+            finish(job, GenerationJobState.CANCELLED, null);
+            return;
+        }
+
+        job.state = GenerationJobState.RUNNING;
+        try {
+            TimetableGenerationResponse response = timetableService.generateTimetables(request, job.userId,
+                    (solution, progress) -> onProgress(job, solution, progress), () -> job.cancelled);
+
+            if (!response.isSuccess()) {
+                finish(job, GenerationJobState.FAILED, response);
+            } else {
+                finish(job, job.cancelled ? GenerationJobState.CANCELLED : GenerationJobState.COMPLETED, response);
+            }
+        } catch (Exception ex) {
+            log.error("Timetable generation job {} failed", job.id, ex);
+            TimetableGenerationResponse response = new TimetableGenerationResponse();
+            response.setSuccess(false);
+            response.setMessage("Error: " + ex.getMessage());
+            finish(job, GenerationJobState.FAILED, response);
+        }
+    }
+
+    private void onProgress(Job job, Integer solution, GenerationProgress progress) {
+        job.progress.put(solution, progress);
+        if (job.emitter == null)
+            return;
+
+        GenerationProgressEvent event = new GenerationProgressEvent();
+        event.setJobId(job.id);
+        event.setSolution(solution);
+        event.setGeneration(progress.getGeneration());
+        event.setBestFitness(progress.getBestFitness());
+        event.setConflicts(progress.getConflicts());
+        event.setDiversity(progress.getDiversity());
+        event.setElapsedMs(progress.getElapsedMs());
+        send(job, "progress", event);
+    }
+
+    private void finish(Job job, GenerationJobState state, TimetableGenerationResponse response) {
+        job.result = response;
+        job.finishedAt = LocalDateTime.now();
+        job.state = state;
+
+        if (job.emitter != null) {
+            send(job, "done", toStatus(job));
+            job.emitter.complete();
+        }
+    }
+
+    private void send(Job job, String name, Object data) {
+        try {
+            job.emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException ex) {
+            job.cancelled = true;
+        }
+    }
+
+    private void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private TimetableJobStatus toStatus(Job job) {
+        TimetableJobStatus status = new TimetableJobStatus();
+        status.setJobId(job.id);
+        status.setState(job.state);
+        status.setSubmittedAt(job.submittedAt);
+        status.setFinishedAt(job.finishedAt);
+        status.setResult(job.result);
+
+        GenerationProgress best = null;
+        for (GenerationProgress progress : job.progress.values()) {
+            status.setGeneration(Math.max(status.getGeneration(), progress.getGeneration()));
+            if (best == null || progress.getBestFitness() > best.getBestFitness())
+                best = progress;
+        }
+        if (best != null) {
+            status.setBestFitness(best.getBestFitness());
+            status.setConflicts(best.getConflicts());
+        }
+        return status;
+    }
+
+    private static class Job {
+        private final String id;
+        private final Integer userId;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        // Latest progress per solution number
+        private final Map<Integer, GenerationProgress> progress = new ConcurrentHashMap<>();
+        private final SseEmitter emitter;
+        private volatile GenerationJobState state = GenerationJobState.QUEUED;
+        private volatile boolean cancelled;
+        private volatile TimetableGenerationResponse result;
+        private volatile LocalDateTime finishedAt;
+
+        Job(String id, Integer userId, SseEmitter emitter) {
+            this.id = id;
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.eduverse.services.impl;
 
+import com.eduverse.algorithms.GeneticAlgorithmConfig;
 import com.eduverse.dtos.ValidationResult;
 import com.eduverse.models.*;
 import com.eduverse.services.ITimetableValidationService;
@@ -132,6 +133,90 @@ public class TimetableValidationServiceImpl implements ITimetableValidationServi
         return result;
     }
 
+    @Override
+    public ValidationResult validateGeneticAlgorithmConfig(GeneticAlgorithmConfig config) {
+        ValidationResult result = new ValidationResult();
+
+        if (config.getPopulationSize() < 10 || config.getPopulationSize() > 2000) {
+            result.setValid(false);
+            result.getErrors().add("Population size must be between 10 and 2000.");
+        }
+
+        if (config.getMaxGenerations() < 1 || config.getMaxGenerations() > 10000) {
+            result.setValid(false);
+            result.getErrors().add("Max generations must be between 1 and 10000.");
+        }
+
+        if (config.getMutationRate() < 0 || config.getMutationRate() > 1) {
+            result.setValid(false);
+            result.getErrors().add("Mutation rate must be between 0 and 1.");
+        }
+
+        if (config.getCrossoverRate() < 0 || config.getCrossoverRate() > 1) {
+            result.setValid(false);
+            result.getErrors().add("Crossover rate must be between 0 and 1.");
+        }
+
+        if (config.getEliteCount() < 0 || config.getEliteCount() > config.getPopulationSize() / 2) {
+            result.setValid(false);
+            result.getErrors().add("Elite count must be between 0 and half the population size.");
+        }
+
+        if (config.getTournamentSize() < 1 || config.getTournamentSize() > config.getPopulationSize()) {
+            result.setValid(false);
+            result.getErrors().add("Tournament size must be between 1 and the population size.");
+        }
+
+        if (config.getSeededShare() < 0 || config.getSeededShare() > 1) {
+            result.setValid(false);
+            result.getErrors().add("Seeded share must be between 0 and 1.");
+        }
+
+        if (config.getTimeBudgetMs() < 0) {
+            result.setValid(false);
+            result.getErrors().add("Time budget cannot be negative.");
+        }
+
+        if (config.getTargetFitness() < 0 || config.getTargetFitness() > 100) {
+            result.setValid(false);
+            result.getErrors().add("Target fitness must be between 0 and 100.");
+        }
+
+        if (config.getLocalSearchElites() < 0 || config.getLocalSearchElites() > config.getPopulationSize()) {
+            result.setValid(false);
+            result.getErrors().add("Local search elites must be between 0 and the population size.");
+        }
+
+        if (config.getLocalSearchIterations() < 0 || config.getLocalSearchMs() < 0) {
+            result.setValid(false);
+            result.getErrors().add("Local search iterations and time slice cannot be negative.");
+        }
+
+        if (config.getExactSizeLimit() < 0) {
+            result.setValid(false);
+            result.getErrors().add("Exact size limit cannot be negative.");
+        }
+
+        if (config.getRestarts() < 1) {
+            result.setValid(false);
+            result.getErrors().add("The greedy engine needs at least one restart.");
+        }
+
+        return result;
+    }
+
+    @Override
+    public ValidationResult validateNumberOfSolutions(int numberOfSolutions) {
+        ValidationResult result = new ValidationResult();
+
+        if (numberOfSolutions < 1 || numberOfSolutions > 10) {
+            result.setValid(false);
+            result.getErrors().add("Number of solutions must be between 1 and 10.");
+        }
+
+        return result;
+    }
+
     @Override
     public int calculateTotalPeriods(TimeSlot shift) {
         long totalShiftMinutes = Duration.between(shift.getStartTime(), shift.getEndTime()).toMinutes();
@@ -3,10 +3,13 @@ package com.eduverse.services.impl;
 import com.eduverse.dtos.UserDto;
 import com.eduverse.dtos.UpdateUserDto;
 import com.eduverse.dtos.ServiceResponse;
+import com.eduverse.enums.TimetableSource;
+import com.eduverse.events.TimetableSourceChangedEvent;
 import com.eduverse.models.User;
 import com.eduverse.repositories.UserRepository;
 import com.eduverse.services.IUserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +24,8 @@ public class UserServiceImpl implements IUserService {
     private UserRepository userRepository;
     @Autowired
     private PasswordEncoder passwordEncoder;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<UserDto> getUsersByCollege(Integer collegeId) {
@@ -64,6 +69,7 @@ public class UserServiceImpl implements IUserService {
         }
 
         userRepository.save(user);
+        eventPublisher.publishEvent(new TimetableSourceChangedEvent(TimetableSource.USER, user.getId()));
         return ServiceResponse.success("User updated successfully", null);
     }
 
@@ -74,6 +80,7 @@ public class UserServiceImpl implements IUserService {
         if (userOpt.isPresent() && userOpt.get().getCollegeId().equals(collegeId)) {
             User u = userOpt.get();
             userRepository.delete(u);
+            eventPublisher.publishEvent(new TimetableSourceChangedEvent(TimetableSource.USER, id));
             return true;
         }
         return false;
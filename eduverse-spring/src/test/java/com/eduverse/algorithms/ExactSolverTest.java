@@ -0,0 +1,64 @@
+package com.eduverse.algorithms;
+
+import com.eduverse.enums.SolverEngine;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExactSolverTest {
+    private static SyntheticCollege college;
+    private static TimetableProblem tiny;
+
+    @BeforeAll
+    static void generate() {
+        // Four periods a day and half of them taught: 12 classes over 24 slots
+        college = SyntheticCollegeGenerator.builder()
+                .departments(2).years(2).subjectsPerCohort(4).teachersPerDepartment(6).classrooms(6)
+                .periods(4).tightness(0.5)
+                .build().generate();
+        tiny = new TimetableProblem(college.getCohortSubjects(1, 1), college.getTeachers(),
+                college.getClassrooms(), college.getShift(1), college.getExistingEntries());
+    }
+
+    @Test
+    void provesOptimalityOnATinyInstance() {
+        ExactSolver exact = new ExactSolver(tiny, GeneticAlgorithmConfig.builder().build(), 1);
+        TimetableChromosome solution = exact.run();
+
+        assertTrue(exact.isProvenOptimal(), exact.getVerdict());
+        assertEquals(0, solution.getConflicts());
+        assertEquals(tiny.getTotalClasses(), solution.size());
+
+        // Nothing the other engines find may beat a proven optimum
+        GeneticAlgorithmConfig config = GeneticAlgorithmConfig.builder().maxGenerations(50).targetFitness(100).build();
+        for (long seed = 0; seed < 4; seed++) {
+            TimetableChromosome evolved = new GeneticAlgorithm(tiny, config, seed, ForkJoinPool.commonPool()).run();
+            TimetableChromosome repaired = new GreedyRepairSolver(tiny, config, seed, ForkJoinPool.commonPool()).run();
+            assertTrue(evolved.getConflicts() > 0 || evolved.getFitness() <= solution.getFitness() + 1e-9);
+            assertTrue(repaired.getConflicts() > 0 || repaired.getFitness() <= solution.getFitness() + 1e-9);
+        }
+    }
+
+    @Test
+    void routesSmallSingleCohortsToTheExactEngine() {
+        GeneticAlgorithmConfig config = GeneticAlgorithmConfig.builder().exactSizeLimit(1000).build();
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        assertInstanceOf(ExactSolver.class, TimetableSolver.create(SolverEngine.GENETIC, tiny, config, 1, pool));
+        assertInstanceOf(ExactSolver.class, TimetableSolver.create(SolverEngine.PORTFOLIO, tiny, config, 1, pool));
+        assertInstanceOf(GreedyRepairSolver.class,
+                TimetableSolver.create(SolverEngine.GREEDY, tiny, config, 1, pool));
+        assertInstanceOf(GeneticAlgorithm.class, TimetableSolver.create(SolverEngine.GENETIC, tiny,
+                config.toBuilder().exactSizeLimit(0).build(), 1, pool));
+        assertInstanceOf(GeneticAlgorithm.class, TimetableSolver.create(SolverEngine.GENETIC, tiny,
+                config.toBuilder().exactSizeLimit(tiny.getTotalClasses() * tiny.getSlotCount()).build(), 1, pool));
+        // Joint problems stay with the configured engine
+        assertInstanceOf(GeneticAlgorithm.class,
+                TimetableSolver.create(SolverEngine.GENETIC, college.yearProblem(1), config, 1, pool));
+    }
+}
@@ -0,0 +1,159 @@
+package com.eduverse.algorithms;
+
+import com.eduverse.models.Subject;
+import com.eduverse.models.TimetableEntry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FitnessEvaluatorTest {
+    private static TimetableProblem problem;
+    private static List<TimetableEntry> existingEntries;
+
+    @BeforeAll
+    static void generate() {
+        SyntheticCollege college = SyntheticCollegeGenerator.builder()
+                .departments(4).teachersPerDepartment(10).classrooms(12).scheduledShare(0.75)
+                .build().generate();
+        // Department 1, year 1 is unscheduled; the other year 1 cohorts book its shift's rooms
+        existingEntries = college.getExistingEntries();
+        problem = new TimetableProblem(college.getCohortSubjects(1, 1), college.getTeachers(),
+                college.getClassrooms(), college.getShift(1), existingEntries);
+    }
+
+    @Test
+    void matchesListScanFormulaOnRandomChromosomes() {
+        FitnessEvaluator evaluator = new FitnessEvaluator(problem);
+        GeneticOperators operators = new GeneticOperators(problem);
+        SplittableRandom random = new SplittableRandom(7);
+        int conflicting = 0;
+        int positive = 0;
+
+        for (int i = 0; i < 2000; i++) {
+            TimetableChromosome chromo = i % 2 == 0 ? operators.createRandom(random) : randomGenes(random);
+            evaluator.evaluate(chromo);
+
+            TimetableChromosome reference = chromo.clone();
+            evaluateListScan(reference);
+            assertEquals(reference.getConflicts(), chromo.getConflicts(), "conflicts of chromosome " + i);
+            assertEquals(reference.getFitness(), chromo.getFitness(), "fitness of chromosome " + i);
+            conflicting += chromo.getConflicts() > 0 ? 1 : 0;
+            positive += chromo.getFitness() > 0 ? 1 : 0;
+        }
+        assertTrue(problem.getLedger().getBookedEntries() > 0, "no existing bookings in the shift");
+        assertTrue(conflicting > 0 && positive > 0, "chromosomes don't cover both clashing and scoring cases");
+    }
+
+    // Any subject, any teacher of the college and any classroom, so clashes and bookings are common
+    private TimetableChromosome randomGenes(SplittableRandom random) {
+        int genes = random.nextInt(problem.getTotalClasses() + 1);
+        TimetableChromosome chromo = new TimetableChromosome(genes);
+        for (int g = 0; g < genes; g++) {
+            chromo.addGene(random.nextInt(problem.getSubjectCount()), random.nextInt(problem.getTeacherCount()),
+                    random.nextInt(problem.getClassroomCount()), random.nextInt(problem.getDayCount()),
+                    1 + random.nextInt(problem.getPeriods()));
+        }
+        return chromo;
+    }
+
+    private record Gene(int subjectId, int teacherId, int classroomId, String day, int period) {
+    }
+
+    /**
+     * The original stream-based evaluation, kept as the reference the
+     * counters must reproduce.
+     */
+    private void evaluateListScan(TimetableChromosome chromo) {
+        Integer shiftId = problem.getShift().getId();
+        List<Gene> genes = new ArrayList<>();
+        for (int g = 0; g < chromo.size(); g++) {
+            genes.add(new Gene(problem.getSubjectId(chromo.getSubject(g)), problem.getTeacherId(chromo.getTeacher(g)),
+                    problem.getClassroomId(chromo.getClassroom(g)), TimetableProblem.DAYS[chromo.getDay(g)],
+                    chromo.getPeriod(g)));
+        }
+
+        int conflicts = 0;
+        double fitness = 100.0;
+
+        conflicts += duplicates(genes.stream().collect(Collectors.groupingBy(
+                g -> g.day() + "-" + g.period(), Collectors.counting())));
+        conflicts += duplicates(genes.stream().collect(Collectors.groupingBy(
+                g -> g.teacherId() + "-" + g.day() + "-" + g.period(), Collectors.counting())));
+        conflicts += duplicates(genes.stream().collect(Collectors.groupingBy(
+                g -> g.classroomId() + "-" + g.day() + "-" + g.period(), Collectors.counting())));
+        conflicts += genes.stream()
+                .filter(g -> existingEntries.stream().anyMatch(e -> e.getTeacherId().equals(g.teacherId())
+                        && e.getDayOfWeek().equals(g.day()) && e.getPeriodNumber() == g.period()
+                        && e.getTimeSlotId().equals(shiftId)))
+                .count();
+        conflicts += genes.stream()
+                .filter(g -> existingEntries.stream().anyMatch(e -> e.getClassroomId().equals(g.classroomId())
+                        && e.getDayOfWeek().equals(g.day()) && e.getPeriodNumber() == g.period()
+                        && e.getTimeSlotId().equals(shiftId)))
+                .count();
+
+        chromo.setConflicts(conflicts);
+        fitness -= (conflicts * 15);
+
+        fitness -= genes.stream()
+                .collect(Collectors.groupingBy(g -> g.day() + "-" + g.subjectId(), Collectors.counting()))
+                .values().stream().filter(count -> count > 1)
+                .mapToLong(count -> (count - 1) * 3).sum();
+
+        Map<Integer, Map<String, Long>> teacherDailyWorkload = genes.stream()
+                .collect(Collectors.groupingBy(Gene::teacherId,
+                        Collectors.groupingBy(Gene::day, Collectors.counting())));
+        for (Map<String, Long> dailyLoads : teacherDailyWorkload.values()) {
+            for (Long load : dailyLoads.values()) {
+                if (load > 4)
+                    fitness -= (load - 4) * 5;
+            }
+        }
+
+        List<Long> dailyCounts = new ArrayList<>();
+        for (String day : TimetableProblem.DAYS) {
+            dailyCounts.add(genes.stream().filter(g -> g.day().equals(day)).count());
+        }
+        double avg = dailyCounts.stream().mapToDouble(Long::doubleValue).average().orElse(0.0);
+        double variance = dailyCounts.stream().mapToDouble(d -> Math.pow(d - avg, 2)).average().orElse(0.0);
+        fitness -= variance * 0.5;
+
+        for (Subject s : problem.getSubjects()) {
+            long scheduled = genes.stream().filter(g -> g.subjectId() == s.getId()).count();
+            fitness -= Math.abs(scheduled - s.getClassesPerWeek()) * 10;
+        }
+
+        int dailyGaps = 0;
+        for (String day : TimetableProblem.DAYS) {
+            List<Gene> dayGenes = genes.stream()
+                    .filter(g -> g.day().equals(day))
+                    .sorted(Comparator.comparingInt(Gene::period))
+                    .collect(Collectors.toList());
+            if (!dayGenes.isEmpty()) {
+                if (dayGenes.get(0).period() > 1)
+                    dailyGaps += dayGenes.get(0).period() - 1;
+                for (int i = 0; i < dayGenes.size() - 1; i++) {
+                    int gap = dayGenes.get(i + 1).period() - dayGenes.get(i).period() - 1;
+                    if (gap > 0)
+                        dailyGaps += gap;
+                }
+            }
+        }
+        fitness -= dailyGaps * 25;
+
+        chromo.setFitness(Math.max(0, fitness));
+    }
+
+    private static long duplicates(Map<String, Long> counts) {
+        return counts.values().stream().filter(count -> count > 1).mapToLong(count -> count - 1).sum();
+    }
+}
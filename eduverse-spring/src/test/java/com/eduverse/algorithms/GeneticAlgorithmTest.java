@@ -0,0 +1,52 @@
+package com.eduverse.algorithms;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GeneticAlgorithmTest {
+    private static SyntheticCollege college;
+
+    @BeforeAll
+    static void generate() {
+        college = SyntheticCollegeGenerator.builder()
+                .departments(4).teachersPerDepartment(10).classrooms(12).scheduledShare(0.75)
+                .build().generate();
+    }
+
+    @Test
+    void fixedSeedGivesTheSameTimetableAtAnyParallelism() {
+        // No time budget and no local-search slice, so only the seed decides how far a run gets
+        GeneticAlgorithmConfig config = GeneticAlgorithmConfig.builder()
+                .populationSize(60).maxGenerations(40).targetFitness(100).seededShare(0.5)
+                .islands(4).migrationInterval(5)
+                .localSearchElites(2).localSearchIterations(2000).localSearchMs(0)
+                .build();
+
+        TimetableChromosome sequential = run(config, 1);
+        TimetableChromosome parallel = run(config, 4);
+
+        assertEquals(sequential.getFitness(), parallel.getFitness());
+        assertEquals(sequential.getConflicts(), parallel.getConflicts());
+        assertEquals(sequential.size(), parallel.size());
+        for (int g = 0; g < sequential.size(); g++) {
+            assertEquals(sequential.getSubject(g), parallel.getSubject(g), "subject of gene " + g);
+            assertEquals(sequential.getTeacher(g), parallel.getTeacher(g), "teacher of gene " + g);
+            assertEquals(sequential.getClassroom(g), parallel.getClassroom(g), "classroom of gene " + g);
+            assertEquals(sequential.getDay(g), parallel.getDay(g), "day of gene " + g);
+            assertEquals(sequential.getPeriod(g), parallel.getPeriod(g), "period of gene " + g);
+        }
+    }
+
+    private static TimetableChromosome run(GeneticAlgorithmConfig config, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return college.geneticAlgorithm(1, 1, config, 42, pool).run();
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
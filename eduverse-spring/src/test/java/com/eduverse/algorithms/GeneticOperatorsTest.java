@@ -0,0 +1,94 @@
+package com.eduverse.algorithms;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeneticOperatorsTest {
+    private static TimetableProblem problem;
+
+    @BeforeAll
+    static void generate() {
+        SyntheticCollege college = SyntheticCollegeGenerator.builder()
+                .departments(4).teachersPerDepartment(10).classrooms(12)
+                .build().generate();
+        problem = new TimetableProblem(college.getCohortSubjects(1, 1), college.getTeachers(),
+                college.getClassrooms(), college.getShift(1), college.getExistingEntries());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    void incrementalMutationScoreMatchesFullEvaluation(boolean decomposed) {
+        GeneticOperators operators = new GeneticOperators(problem, decomposed);
+        FitnessEvaluator evaluator = new FitnessEvaluator(problem);
+        SplittableRandom random = new SplittableRandom(11);
+
+        for (int i = 0; i < 200; i++) {
+            TimetableChromosome chromo = i % 2 == 0 ? operators.createRandom(random)
+                    : operators.createConstructive(random);
+            // Chained, as offspring become parents: deltas keep adding up on the stored score
+            for (int generation = 0; generation < 20; generation++) {
+                chromo = chromo.clone();
+                operators.mutate(chromo, 0.2, random);
+                assertScoredLikeFullEvaluation(evaluator, chromo);
+            }
+        }
+    }
+
+    @Test
+    void crossoverChildrenAreScoredInFull() {
+        GeneticOperators operators = new GeneticOperators(problem);
+        FitnessEvaluator evaluator = new FitnessEvaluator(problem);
+        SplittableRandom random = new SplittableRandom(12);
+
+        for (int i = 0; i < 200; i++) {
+            TimetableChromosome[] children = operators.subjectBasedCrossover(operators.createRandom(random),
+                    operators.createConstructive(random), random);
+            for (TimetableChromosome child : children) {
+                operators.mutate(child, i % 4 == 0 ? 0 : 0.2, random);
+                assertTrue(child.isEvaluated());
+                assertScoredLikeFullEvaluation(evaluator, child);
+            }
+        }
+    }
+
+    @Test
+    void untouchedCloneKeepsParentScore() {
+        GeneticOperators operators = new GeneticOperators(problem);
+        TimetableChromosome parent = operators.createConstructive(new SplittableRandom(13));
+        TimetableChromosome clone = parent.clone();
+
+        operators.mutate(clone, 0, new SplittableRandom(14));
+
+        assertEquals(parent.getFitness(), clone.getFitness());
+        assertEquals(parent.getConflicts(), clone.getConflicts());
+    }
+
+    @Test
+    void annealingNeverReturnsWorseThanItsStart() {
+        GeneticOperators operators = new GeneticOperators(problem);
+        FitnessEvaluator evaluator = new FitnessEvaluator(problem);
+        SplittableRandom random = new SplittableRandom(15);
+
+        for (int i = 0; i < 200; i++) {
+            TimetableChromosome start = operators.createConstructive(random);
+            // A few hot moves mostly wander away from a constructed start
+            TimetableChromosome refined = operators.anneal(start, 1 + random.nextInt(64), () -> false, random);
+            assertTrue(refined.getFitness() >= start.getFitness(), "refined worse than start " + i);
+            assertScoredLikeFullEvaluation(evaluator, refined);
+        }
+    }
+
+    private static void assertScoredLikeFullEvaluation(FitnessEvaluator evaluator, TimetableChromosome chromo) {
+        TimetableChromosome reference = chromo.clone();
+        evaluator.evaluate(reference);
+        assertEquals(reference.getFitness(), chromo.getFitness(), 1e-9);
+        assertEquals(reference.getConflicts(), chromo.getConflicts());
+    }
+}
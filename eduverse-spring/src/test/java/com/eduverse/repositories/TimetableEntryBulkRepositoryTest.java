@@ -0,0 +1,102 @@
+package com.eduverse.repositories;
+
+import com.eduverse.models.Timetable;
+import com.eduverse.models.TimetableEntry;
+import jakarta.validation.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// A small synthetic college in an in-memory H2 database, so entries can reference real rows
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulk-insert;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR,VALUE",
+        "synthetic.departments=2", "synthetic.years=2", "synthetic.teachers-per-department=6",
+        "synthetic.classrooms=6", "synthetic.scheduled-share=1" })
+@ActiveProfiles("synthetic")
+class TimetableEntryBulkRepositoryTest {
+
+    @Autowired
+    private TimetableRepository timetableRepository;
+    @Autowired
+    private TimetableEntryRepository timetableEntryRepository;
+
+    @Test
+    void insertedEntriesReadBackThroughJpa() {
+        Timetable source = timetableRepository.findAll().get(0);
+        List<TimetableEntry> sourceEntries = timetableEntryRepository.findByTimetableId(source.getId());
+        assertFalse(sourceEntries.isEmpty());
+        Timetable copy = timetableRepository.save(draftCopy(source));
+
+        List<TimetableEntry> entries = new ArrayList<>();
+        for (TimetableEntry entry : sourceEntries) {
+            entries.add(entryCopy(entry, copy.getId(), entry.getPeriodNumber()));
+        }
+        timetableEntryRepository.insertAll(entries);
+
+        List<TimetableEntry> saved = timetableEntryRepository.findDetailedByTimetableId(copy.getId());
+        assertEquals(entries.size(), saved.size());
+        Comparator<TimetableEntry> order = Comparator.comparing(TimetableEntry::getDayOfWeek)
+                .thenComparingInt(TimetableEntry::getPeriodNumber)
+                .thenComparing(TimetableEntry::getSubjectId);
+        entries.sort(order);
+        saved.sort(order);
+        for (int i = 0; i < entries.size(); i++) {
+            TimetableEntry expected = entries.get(i);
+            TimetableEntry actual = saved.get(i);
+            assertNotNull(actual.getId());
+            assertEquals(copy.getId(), actual.getTimetableId());
+            assertEquals(expected.getSubjectId(), actual.getSubject().getId());
+            assertEquals(expected.getTeacherId(), actual.getTeacher().getId());
+            assertEquals(expected.getClassroomId(), actual.getClassroom().getId());
+            assertEquals(expected.getTimeSlotId(), actual.getTimeSlot().getId());
+            assertEquals(expected.getPeriodNumber(), actual.getPeriodNumber());
+            assertEquals(expected.getDayOfWeek(), actual.getDayOfWeek());
+        }
+    }
+
+    @Test
+    void invalidEntriesRejectTheWholeBatch() {
+        Timetable source = timetableRepository.findAll().get(0);
+        TimetableEntry valid = timetableEntryRepository.findByTimetableId(source.getId()).get(0);
+        Timetable copy = timetableRepository.save(draftCopy(source));
+
+        List<TimetableEntry> entries = List.of(entryCopy(valid, copy.getId(), 1), entryCopy(valid, copy.getId(), 7));
+
+        assertThrows(ConstraintViolationException.class, () -> timetableEntryRepository.insertAll(entries));
+        assertTrue(timetableEntryRepository.findByTimetableId(copy.getId()).isEmpty());
+    }
+
+    private static Timetable draftCopy(Timetable source) {
+        return Timetable.builder()
+                .name(source.getName() + " (copy)")
+                .semesterId(source.getSemesterId())
+                .collegeId(source.getCollegeId())
+                .departmentId(source.getDepartmentId())
+                .year(source.getYear())
+                .generatedByUserId(source.getGeneratedByUserId())
+                .build();
+    }
+
+    private static TimetableEntry entryCopy(TimetableEntry entry, Integer timetableId, int periodNumber) {
+        return TimetableEntry.builder()
+                .timetableId(timetableId)
+                .subjectId(entry.getSubjectId())
+                .teacherId(entry.getTeacherId())
+                .classroomId(entry.getClassroomId())
+                .timeSlotId(entry.getTimeSlotId())
+                .periodNumber(periodNumber)
+                .dayOfWeek(entry.getDayOfWeek())
+                .build();
+    }
+}